@@ -0,0 +1,99 @@
+package com.EduPulse.ClassService.benchmark;
+
+import com.EduPulse.ClassService.ClassServiceApplication;
+import com.EduPulse.ClassService.service.UserServiceClient;
+import com.EduPulse.ClassService.support.StubUserServiceClient;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Boots the service for benchmarks: in-memory H2 instead of MySQL and
+ * {@link StubUserServiceClient} (with configurable latency) instead of the Feign client,
+ * or the real Feign client against a local HTTP stub.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName) {
+        return new SpringApplicationBuilder(ClassServiceApplication.class, StubUserServiceConfig.class)
+                .run(arguments(properties(databaseName)));
+    }
+
+    // Keeps the real Feign client, pointed at userServiceUrl
+    static ConfigurableApplicationContext startWithUserService(String databaseName, String userServiceUrl,
+                                                               String... properties) {
+        List<String> all = new ArrayList<>(List.of(properties(databaseName)));
+        all.add("USER_SERVICE_URL=" + userServiceUrl);
+        all.addAll(List.of(properties));
+        return new SpringApplicationBuilder(ClassServiceApplication.class)
+                .run(arguments(all.toArray(String[]::new)));
+    }
+
+    // As command-line arguments: the test application.properties is on the benchmark classpath
+    // and would override SpringApplicationBuilder.properties(), which are only defaults
+    private static String[] arguments(String... properties) {
+        return Arrays.stream(properties).map(property -> "--" + property).toArray(String[]::new);
+    }
+
+    private static String[] properties(String databaseName) {
+        return new String[]{
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:" + databaseName
+                        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.properties.hibernate.generate_statistics=false",
+                "logging.level.root=WARN"};
+    }
+
+    static StubUserServiceClient stub() {
+        return StubUserServiceClient.shared();
+    }
+
+    // Not @Configuration: this package is under the application's component scan, and a scanned
+    // copy would swap the client in startWithUserService contexts too. Registered as a source only.
+    static class StubUserServiceConfig {
+
+        // Swaps the Feign client definition for the shared stub once all configuration is registered
+        @Bean
+        static BeanDefinitionRegistryPostProcessor stubUserServiceClient() {
+            return new BeanDefinitionRegistryPostProcessor() {
+                @Override
+                public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+                    for (String name : registry.getBeanDefinitionNames()) {
+                        BeanDefinition definition = registry.getBeanDefinition(name);
+                        Object objectType = definition.getAttribute(FactoryBean.OBJECT_TYPE_ATTRIBUTE);
+                        if (UserServiceClient.class.getName().equals(name)
+                                || UserServiceClient.class.getName().equals(String.valueOf(objectType))
+                                || UserServiceClient.class.equals(objectType)) {
+                            registry.removeBeanDefinition(name);
+                        }
+                    }
+
+                    RootBeanDefinition stub = new RootBeanDefinition(UserServiceClient.class, BenchmarkContext::stub);
+                    stub.setPrimary(true);
+                    registry.registerBeanDefinition(UserServiceClient.class.getName(), stub);
+                }
+
+                @Override
+                public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+                }
+            };
+        }
+    }
+}
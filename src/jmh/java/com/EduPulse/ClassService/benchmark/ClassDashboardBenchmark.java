@@ -0,0 +1,99 @@
+package com.EduPulse.ClassService.benchmark;
+
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.dto.AttendanceRequest;
+import com.EduPulse.ClassService.model.dto.ClassDashboardResponse;
+import com.EduPulse.ClassService.model.dto.LectureRequest;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.service.ClassService;
+import com.EduPulse.ClassService.service.UserLookupService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Latency of the class dashboard for a class with 60 lectures x 400 students; its budget is
+ * a p95 under 250 ms. Sampled, so the report includes percentiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ClassDashboardBenchmark {
+
+    private static final int LECTURES = 60;
+    private static final int STUDENTS = 400;
+
+    // Simulated user-service round-trip
+    @Param({"0", "20"})
+    public long userServiceLatencyMillis;
+
+    // false = evict the near cache before every call, i.e. both name lookups go downstream
+    @Param({"true", "false"})
+    public boolean warmCache;
+
+    private ConfigurableApplicationContext context;
+    private ClassService classService;
+    private UserLookupService userLookupService;
+    private Long classId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start("dashboard_benchmark");
+        classService = context.getBean(ClassService.class);
+        userLookupService = context.getBean(UserLookupService.class);
+
+        // No name snapshots, so the dashboard has to resolve the grade and the lecturer
+        classId = context.getBean(ClassRepository.class).save(ClassEntity.builder()
+                .name("Chemistry")
+                .gradeId(6L)
+                .lecturerId(61L)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(6))
+                .build()).getId();
+
+        // Every 10th student absent, the next one late, the rest present
+        List<AttendanceRequest> roster = LongStream.rangeClosed(1, STUDENTS)
+                .mapToObj(studentId -> request(studentId,
+                        studentId % 10 == 0 ? "ABSENT" : studentId % 10 == 1 ? "LATE" : "PRESENT"))
+                .toList();
+        for (int i = 0; i < LECTURES; i++) {
+            LectureRequest lecture = new LectureRequest();
+            lecture.setTitle("Lecture " + i);
+            lecture.setDateTime(LocalDateTime.now().plusDays(LECTURES - i));
+            classService.markAttendanceBulk(classService.scheduleLecture(classId, lecture).getId(), roster);
+        }
+
+        BenchmarkContext.stub().setLatency(Duration.ofMillis(userServiceLatencyMillis));
+    }
+
+    @Setup(Level.Invocation)
+    public void coldCache() {
+        if (!warmCache) {
+            userLookupService.evictAll();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        BenchmarkContext.stub().reset();
+        context.close();
+    }
+
+    @Benchmark
+    public ClassDashboardResponse getClassDashboard() {
+        return classService.getClassDashboard(classId);
+    }
+
+    private static AttendanceRequest request(long studentId, String status) {
+        AttendanceRequest request = new AttendanceRequest();
+        request.setStudentId(studentId);
+        request.setStatus(status);
+        return request;
+    }
+}
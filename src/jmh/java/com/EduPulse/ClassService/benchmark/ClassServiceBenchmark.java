@@ -0,0 +1,117 @@
+package com.EduPulse.ClassService.benchmark;
+
+import com.EduPulse.ClassService.model.dto.AttendanceRequest;
+import com.EduPulse.ClassService.model.dto.AttendanceResponse;
+import com.EduPulse.ClassService.model.dto.ClassRequest;
+import com.EduPulse.ClassService.model.dto.ClassResponse;
+import com.EduPulse.ClassService.model.dto.LectureRequest;
+import com.EduPulse.ClassService.service.ClassService;
+import com.EduPulse.ClassService.service.UserLookupService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the ClassService hot paths against H2 and a stubbed user-service.
+ * Run with {@code -prof gc} (the default in the benchmarks profile) for allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ClassServiceBenchmark {
+
+    private static final int CLASSES = 100;
+    private static final int STUDENTS = 300;
+
+    // Simulated user-service round-trip
+    @Param({"0", "2"})
+    public long userServiceLatencyMillis;
+
+    // false = evict the near cache before every call, i.e. every lookup goes downstream
+    @Param({"true", "false"})
+    public boolean warmCache;
+
+    private ConfigurableApplicationContext context;
+    private ClassService classService;
+    private UserLookupService userLookupService;
+    private Long classId;
+    private Long lectureId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start("benchmark");
+        classService = context.getBean(ClassService.class);
+        userLookupService = context.getBean(UserLookupService.class);
+
+        for (int i = 0; i < CLASSES; i++) {
+            classId = classService.createClass(ClassRequest.builder()
+                    .name("Class " + i)
+                    .gradeId((long) (i % 10 + 1))
+                    .startDate(LocalDate.now())
+                    .endDate(LocalDate.now().plusMonths(4))
+                    .build(), (long) (i % 20 + 1)).getId();
+        }
+
+        LectureRequest lecture = new LectureRequest();
+        lecture.setTitle("Benchmark lecture");
+        lecture.setDateTime(LocalDateTime.now().plusDays(1));
+        lectureId = classService.scheduleLecture(classId, lecture).getId();
+
+        List<AttendanceRequest> roster = new ArrayList<>();
+        for (long studentId = 1; studentId <= STUDENTS; studentId++) {
+            roster.add(request(studentId));
+        }
+        classService.markAttendanceBulk(lectureId, roster);
+
+        BenchmarkContext.stub().setLatency(Duration.ofMillis(userServiceLatencyMillis));
+    }
+
+    @Setup(Level.Invocation)
+    public void coldCache() {
+        if (!warmCache) {
+            userLookupService.evictAll();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        BenchmarkContext.stub().reset();
+        context.close();
+    }
+
+    @Benchmark
+    public AttendanceResponse markAttendance() {
+        long studentId = ThreadLocalRandom.current().nextLong(1, STUDENTS + 1);
+        return classService.markAttendance(lectureId, request(studentId));
+    }
+
+    @Benchmark
+    public ClassResponse getClassById() {
+        return classService.getClassById(classId);
+    }
+
+    // buildClassResponse for every class in the catalogue
+    @Benchmark
+    public List<ClassResponse> getAllClasses() {
+        return classService.getAllClasses();
+    }
+
+    @Benchmark
+    public List<AttendanceResponse> getAttendanceForLecture() {
+        return classService.getAttendanceForLecture(lectureId);
+    }
+
+    private static AttendanceRequest request(long studentId) {
+        AttendanceRequest request = new AttendanceRequest();
+        request.setStudentId(studentId);
+        request.setStatus(studentId % 3 == 0 ? "LATE" : "PRESENT");
+        return request;
+    }
+}
@@ -0,0 +1,105 @@
+package com.EduPulse.ClassService.benchmark;
+
+import com.EduPulse.ClassService.model.dto.UserResponse;
+import com.EduPulse.ClassService.service.UserServiceClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * User-service calls per second through the real Feign client (resilience, metrics and all)
+ * against a local HTTP stub, for each {@code user-service.transport}. The stub gzips its answer
+ * whenever the request accepts it, so the pooled transport is measured with compression on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class UserServiceTransportBenchmark {
+
+    private static final List<Long> STUDENT_IDS = LongStream.rangeClosed(1, 50).boxed().toList();
+
+    @Param({"default", "pooled"})
+    public String transport;
+
+    private HttpServer server;
+    private ConfigurableApplicationContext context;
+    private UserServiceClient userServiceClient;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        // Without TCP_NODELAY the stub's replies wait on delayed ACKs, capping every transport at ~40 ms a call
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 128);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        byte[] students = students().getBytes(StandardCharsets.UTF_8);
+        server.createContext("/api/users/students/batch", exchange -> respond(exchange, students));
+        server.createContext("/api/users/students/validate/", exchange -> respond(exchange,
+                "{\"id\":1,\"fullName\":\"Student 1\",\"role\":\"STUDENT\"}".getBytes(StandardCharsets.UTF_8)));
+        server.start();
+
+        context = BenchmarkContext.startWithUserService("transport_benchmark",
+                "http://localhost:" + server.getAddress().getPort() + "/api/users",
+                "user-service.transport=" + transport,
+                "user-service.feign.log-level=NONE",
+                "user-service.bulkhead.max-concurrent-calls=64");
+        userServiceClient = context.getBean(UserServiceClient.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+        server.stop(0);
+    }
+
+    // Small answer: connection setup dominates
+    @Benchmark
+    public UserResponse validateStudent() {
+        return userServiceClient.validateStudent(1L);
+    }
+
+    // ~10 KB answer: compression matters
+    @Benchmark
+    public List<UserResponse> getStudentsByIds() {
+        return userServiceClient.getStudentsByIds(STUDENT_IDS);
+    }
+
+    private static String students() {
+        return STUDENT_IDS.stream()
+                .map(id -> ("{\"id\":%d,\"fullName\":\"Student %d\",\"username\":\"student%d\","
+                        + "\"email\":\"student%d@example.org\",\"role\":\"STUDENT\",\"gradeId\":3,"
+                        + "\"gradeName\":\"Grade 3\",\"institution\":\"EduPulse Academy\","
+                        + "\"bio\":\"Enrolled in the science stream\"}").formatted(id, id, id, id))
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(body);
+            }
+            body = compressed.toByteArray();
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.Attendance;
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.Lecture;
+import com.EduPulse.ClassService.model.dto.AttendanceResponse;
+import com.EduPulse.ClassService.model.dto.ClassResponse;
+import com.EduPulse.ClassService.model.dto.LectureResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of ClassService's entity-to-response mappings, without any I/O. Lives in the
+ * service package to call the package-private mappers the service itself uses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoMappingBenchmark {
+
+    private ClassEntity classEntity;
+    private Lecture lecture;
+    private Attendance attendance;
+
+    @Setup
+    public void setUp() {
+        classEntity = ClassEntity.builder()
+                .id(1L)
+                .name("Physics")
+                .description("Mechanics and waves")
+                .gradeId(3L)
+                .lecturerId(7L)
+                .gradeName("Grade 3")
+                .lecturerName("Lecturer 7")
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(4))
+                .status(ClassEntity.ClassStatus.ACTIVE)
+                .build();
+
+        lecture = Lecture.builder()
+                .id(11L)
+                .classEntity(classEntity)
+                .title("Kinematics")
+                .description("Motion in one dimension")
+                .dateTime(LocalDateTime.now().plusDays(1))
+                .videoLink("https://example.org/video")
+                .pdfUrl("https://example.org/slides.pdf")
+                .build();
+
+        attendance = Attendance.builder()
+                .id(101L)
+                .studentId(42L)
+                .studentName("Student 42")
+                .lecture(lecture)
+                .status(Attendance.AttendanceStatus.PRESENT)
+                .checkInTime(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public ClassResponse classResponse() {
+        return ClassService.buildClassResponse(classEntity, classEntity.getGradeName(),
+                classEntity.getLecturerName(), 12);
+    }
+
+    @Benchmark
+    public LectureResponse lectureResponse() {
+        return ClassService.lectureResponse(lecture, classEntity.getId());
+    }
+
+    @Benchmark
+    public AttendanceResponse attendanceResponse() {
+        return ClassService.attendanceResponse(attendance, attendance.getStudentName(),
+                lecture.getId(), lecture.getTitle());
+    }
+}
@@ -3,9 +3,11 @@ package com.EduPulse.ClassService;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients(basePackages = "com.EduPulse.ClassService.service" )
+@EnableScheduling
 
 public class ClassServiceApplication {
 
@@ -1,14 +1,85 @@
 package com.EduPulse.ClassService;
 
+import com.EduPulse.ClassService.metrics.ServerTimingCapability;
+import feign.Capability;
+import feign.Client;
 import feign.Logger;
+import feign.hc5.ApacheHttp5Client;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 public class FeignConfig {
 
+    // FULL logs every header and body; BASIC (request line, status, time) is the default now
+    @Bean
+    Logger.Level feignLoggerLevel(@Value("${user-service.feign.log-level:BASIC}") Logger.Level level) {
+        return level;
+    }
+
+    // Adds each user-service round-trip to the request's Server-Timing "remote" total
     @Bean
-    Logger.Level feignLoggerLevel() {
-        return Logger.Level.FULL;
+    Capability serverTimingCapability() {
+        return new ServerTimingCapability();
+    }
+
+    // ========== Transport (user-service.transport = pooled | default) ==========
+
+    // Apache HC5 with a keep-alive connection pool and transparent gzip; timeouts still come from Request.Options
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "user-service.transport", havingValue = "pooled", matchIfMissing = true)
+    CloseableHttpClient userServiceHttpClient(
+            @Value("${user-service.transport.max-connections:64}") int maxConnections,
+            @Value("${user-service.transport.max-connections-per-route:64}") int maxConnectionsPerRoute,
+            @Value("${user-service.transport.time-to-live:PT5M}") Duration timeToLive,
+            @Value("${user-service.transport.idle-timeout:PT30S}") Duration idleTimeout,
+            @Value("${user-service.transport.compression:true}") boolean compression) {
+        return pooledHttpClient(maxConnections, maxConnectionsPerRoute, timeToLive, idleTimeout, compression);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "user-service.transport", havingValue = "pooled", matchIfMissing = true)
+    Client pooledFeignClient(CloseableHttpClient userServiceHttpClient) {
+        return new ApacheHttp5Client(userServiceHttpClient);
+    }
+
+    // HttpURLConnection, one request per connection unless the JDK's small keep-alive cache has one spare
+    @Bean
+    @ConditionalOnProperty(name = "user-service.transport", havingValue = "default")
+    Client defaultFeignClient() {
+        return new Client.Default(null, null);
+    }
+
+    public static CloseableHttpClient pooledHttpClient(int maxConnections, int maxConnectionsPerRoute,
+                                                       Duration timeToLive, Duration idleTimeout,
+                                                       boolean compression) {
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(maxConnections)
+                        .setMaxConnPerRoute(maxConnectionsPerRoute)
+                        .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                .setTimeToLive(TimeValue.ofMilliseconds(timeToLive.toMillis()))
+                                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                                .build())
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeout.toMillis()))
+                // UserServiceResilience decides about failures; no silent retries underneath it
+                .disableAutomaticRetries()
+                .disableRedirectHandling();
+        if (!compression) {
+            builder.disableContentCompression();
+        }
+        return builder.build();
     }
 }
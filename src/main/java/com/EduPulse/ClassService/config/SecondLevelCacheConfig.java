@@ -0,0 +1,35 @@
+package com.EduPulse.ClassService.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+@Configuration
+public class SecondLevelCacheConfig {
+
+    static final String CACHE_MANAGER = "hibernate.javax.cache.cache_manager";
+
+    /**
+     * The JCache CacheManager behind the Hibernate second-level cache, one per application context.
+     * Left to itself Hibernate takes the provider's default manager, which is shared by the whole JVM
+     * and closed by the first SessionFactory that shuts down, leaving every other one with closed
+     * caches (e.g. several Spring contexts in one test run). Caffeine resolves an unknown URI to
+     * application.conf, so every manager has the same region settings.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager() {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager(
+                URI.create("urn:edupulse:class-service:" + UUID.randomUUID()), getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(CACHE_MANAGER, secondLevelCacheManager);
+    }
+}
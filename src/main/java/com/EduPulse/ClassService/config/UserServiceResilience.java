@@ -0,0 +1,123 @@
+package com.EduPulse.ClassService.config;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guards every {@code UserServiceClient} call with
+ * <ul>
+ *     <li>connect/read timeouts, overridable per method through
+ *     {@code user-service.timeouts.<method>.connect|read},</li>
+ *     <li>one semaphore bulkhead shared by all methods, so a slow user-service can only
+ *     ever hold that many request threads,</li>
+ *     <li>a circuit breaker per method that opens on errors, 5xx answers and slow calls.</li>
+ * </ul>
+ * Rejected calls are rethrown as {@link IOException}, which Feign turns into a
+ * {@code RetryableException} - callers keep handling a single {@code FeignException}.
+ */
+@Component
+public class UserServiceResilience implements Capability {
+
+    private final Environment environment;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final Bulkhead bulkhead;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final Map<String, Request.Options> methodOptions = new ConcurrentHashMap<>();
+
+    public UserServiceResilience(Environment environment,
+                                 @Value("${user-service.timeouts.connect:PT1S}") Duration connectTimeout,
+                                 @Value("${user-service.timeouts.read:PT2S}") Duration readTimeout,
+                                 @Value("${user-service.bulkhead.max-concurrent-calls:32}") int maxConcurrentCalls,
+                                 @Value("${user-service.bulkhead.max-wait:PT0.05S}") Duration maxWait,
+                                 @Value("${user-service.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+                                 @Value("${user-service.circuit-breaker.slow-call-duration:PT1S}") Duration slowCallDuration,
+                                 @Value("${user-service.circuit-breaker.window-size:20}") int windowSize,
+                                 @Value("${user-service.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                                 @Value("${user-service.circuit-breaker.open-duration:PT10S}") Duration openDuration,
+                                 MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+        this.bulkhead = bulkheads.bulkhead("user-service");
+
+        this.circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(windowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .waitDurationInOpenState(openDuration)
+                .recordResult(result -> result instanceof Response response && response.status() >= 500)
+                .build());
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, defaults) -> {
+            String method = request.requestTemplate().methodMetadata().method().getName();
+            CircuitBreaker circuitBreaker = circuitBreaker(method);
+            Request.Options options = optionsFor(method, defaults);
+            try {
+                return Bulkhead.decorateCheckedSupplier(bulkhead,
+                        CircuitBreaker.decorateCheckedSupplier(circuitBreaker,
+                                () -> client.execute(request, options))).get();
+            } catch (BulkheadFullException | CallNotPermittedException e) {
+                throw new IOException(e.getMessage(), e);
+            } catch (IOException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IOException(e);
+            }
+        };
+    }
+
+    public CircuitBreaker.State state(String method) {
+        return circuitBreaker(method).getState();
+    }
+
+    private CircuitBreaker circuitBreaker(String method) {
+        return circuitBreakers.circuitBreaker("user-service." + method);
+    }
+
+    private Request.Options optionsFor(String method, Request.Options defaults) {
+        return methodOptions.computeIfAbsent(method, key -> new Request.Options(
+                timeout(key, "connect", connectTimeout).toMillis(), TimeUnit.MILLISECONDS,
+                timeout(key, "read", readTimeout).toMillis(), TimeUnit.MILLISECONDS,
+                defaults.isFollowRedirects()));
+    }
+
+    private Duration timeout(String method, String kind, Duration fallback) {
+        return environment.getProperty("user-service.timeouts." + method + "." + kind, Duration.class, fallback);
+    }
+}
@@ -1,23 +1,44 @@
 package com.EduPulse.ClassService.controller;
 
+import com.EduPulse.ClassService.model.Attendance;
 import com.EduPulse.ClassService.model.ClassEntity;
 import com.EduPulse.ClassService.model.dto.*;
+import com.EduPulse.ClassService.service.AttendanceExportService;
+import com.EduPulse.ClassService.service.AttendanceFeedHub;
+import com.EduPulse.ClassService.service.AttendanceIngestionService;
+import com.EduPulse.ClassService.service.AttendanceRollupService;
 import com.EduPulse.ClassService.service.ClassService;
+import com.EduPulse.ClassService.service.FieldSelection;
+import com.EduPulse.ClassService.service.UnknownFieldException;
+import com.EduPulse.ClassService.service.UnknownStudentsException;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 
 @RestController
 @RequestMapping("/api/classes")
 @RequiredArgsConstructor
+@Validated  // @Valid on List bodies only checks the elements through method validation
 @CrossOrigin(
         origins = {"http://localhost:5173", "http://localhost:8085"},  // ✅ Add Admin Service
         methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS}
@@ -25,6 +46,10 @@ import java.util.Optional;
 public class ClassController {
 
     private final ClassService classService;
+    private final AttendanceExportService attendanceExportService;
+    private final AttendanceIngestionService attendanceIngestionService;
+    private final AttendanceRollupService attendanceRollupService;
+    private final AttendanceFeedHub attendanceFeedHub;
 
     // ========== Create a new Class ==========
     // Only lecturers can create classes
@@ -44,8 +69,13 @@ public class ClassController {
     }
 
     // ========== Get a single class by ID ==========
+    // Conditional GET: 304 from the version columns alone, before any enrichment
     @GetMapping("/classes/{classId}")
-    public ResponseEntity<ClassResponse> getClassById(@PathVariable Long classId) {
+    public ResponseEntity<ClassResponse> getClassById(@PathVariable Long classId, WebRequest webRequest) {
+        ResourceVersion version = classService.getClassVersion(classId);
+        if (webRequest.checkNotModified(version.etag(), version.lastModified())) {
+            return null;  // 304, headers already set
+        }
         return ResponseEntity.ok(classService.getClassById(classId));
     }
 
@@ -63,6 +93,30 @@ public class ClassController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    // ========== Schedule a weekly series of lectures in one call ==========
+    @PostMapping("/{classId}/lectures/series")
+    @PreAuthorize("hasRole('LECTURER')")
+    public ResponseEntity<LectureSeriesResponse> scheduleLectureSeries(
+            @PathVariable Long classId,
+            @Valid @RequestBody LectureSeriesRequest request,
+            @RequestHeader("X-User-Id") Long lecturerId) {
+
+        LectureSeriesResponse response = classService.scheduleLectureSeries(classId, request, lecturerId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    // ========== Reschedule a series: move its lectures by a fixed offset ==========
+    @PutMapping("/{classId}/lectures/series/{seriesId}/shift")
+    @PreAuthorize("hasRole('LECTURER')")
+    public ResponseEntity<LectureSeriesResponse> shiftLectureSeries(
+            @PathVariable Long classId,
+            @PathVariable String seriesId,
+            @Valid @RequestBody LectureSeriesShiftRequest request,
+            @RequestHeader("X-User-Id") Long lecturerId) {
+
+        return ResponseEntity.ok(classService.shiftLectureSeries(classId, seriesId, request, lecturerId));
+    }
+
     // ========== Mark attendance for a student in a lecture ==========
     // Can be called by lecturer or student (depending on your flow)
     @PostMapping("/lectures/{lectureId}/attendance")
@@ -77,10 +131,83 @@ public class ClassController {
         return ResponseEntity.ok(response);
     }
 
+    // ========== Mark attendance asynchronously (check-in storms) ==========
+    // Acknowledged right away and written in batches; 503 tells the client to retry when the queue is full
+    @PostMapping("/lectures/{lectureId}/attendance/async")
+    @PreAuthorize("hasRole('LECTURER') or hasRole('STUDENT')")
+    public ResponseEntity<Void> markAttendanceAsync(
+            @PathVariable Long lectureId,
+            @Valid @RequestBody AttendanceRequest request,
+            @RequestHeader("X-User-Id") Long currentUserId) {
+
+        if (!attendanceIngestionService.submit(lectureId, request)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    // ========== Mark attendance for a whole lecture roster ==========
+    // One transaction with batched writes instead of one request per student
+    @PostMapping("/lectures/{lectureId}/attendance/bulk")
+    @PreAuthorize("hasRole('LECTURER')")
+    public ResponseEntity<List<AttendanceResponse>> markAttendanceBulk(
+            @PathVariable Long lectureId,
+            @Valid @RequestBody List<AttendanceRequest> requests,
+            @RequestHeader("X-User-Id") Long lecturerId) {
+
+        List<AttendanceResponse> response = classService.markAttendanceBulk(lectureId, requests);
+        return ResponseEntity.ok(response);
+    }
+
+    // Invalid rows of a List body (method validation) are a bad request, not a server error
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<List<String>> handleConstraintViolation(ConstraintViolationException e) {
+        List<String> errors = e.getConstraintViolations().stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+        return ResponseEntity.badRequest().body(errors);
+    }
+
+    // A roster with students user-service does not know is the client's mistake as well
+    @ExceptionHandler(UnknownStudentsException.class)
+    public ResponseEntity<List<String>> handleUnknownStudents(UnknownStudentsException e) {
+        return ResponseEntity.badRequest().body(List.of(e.getMessage()));
+    }
+
+    // So is asking for a field the response does not have
+    @ExceptionHandler(UnknownFieldException.class)
+    public ResponseEntity<List<String>> handleUnknownField(UnknownFieldException e) {
+        return ResponseEntity.badRequest().body(List.of(e.getMessage()));
+    }
+
+    // ========== Class page: class, lectures and attendance counts in one call ==========
+    @GetMapping("/classes/{classId}/dashboard")
+    @PreAuthorize("hasRole('LECTURER') or hasRole('ADMIN')")
+    public ResponseEntity<ClassDashboardResponse> getClassDashboard(@PathVariable Long classId) {
+        return ResponseEntity.ok(classService.getClassDashboard(classId));
+    }
+
     // ========== Optional: Get all lectures for a class ==========
     @GetMapping("/{classId}/lectures")
-    public ResponseEntity<List<LectureResponse>> getLecturesByClass(@PathVariable Long classId) {
-        List<LectureResponse> response = classService.getLecturesByClass(classId);
+    public ResponseEntity<List<?>> getLecturesByClass(
+            @PathVariable Long classId,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            WebRequest webRequest) {
+        // Aggregate version of the whole list (archiving changes it too, archived rows never change)
+        ResourceVersion version = classService.getLectureListVersion(classId);
+        if (webRequest.checkNotModified(version.etag(), version.lastModified())) {
+            return null;
+        }
+
+        Set<String> selected = FieldSelection.parse(fields, FieldSelection.LECTURE_FIELDS);
+        if (selected != null) {
+            return ResponseEntity.ok(classService.getLecturesByClass(classId, selected, includeArchived));
+        }
+        List<LectureResponse> response = classService.getLecturesByClass(classId, includeArchived);
         return ResponseEntity.ok(response);
     }
 
@@ -88,16 +215,31 @@ public class ClassController {
     // In ClassController.java - replace the placeholder
     @GetMapping("/lectures/{lectureId}/attendance")
     @PreAuthorize("hasRole('LECTURER')")
-    public ResponseEntity<List<AttendanceResponse>> getAttendanceForLecture(@PathVariable Long lectureId) {
-        List<AttendanceResponse> response = classService.getAttendanceForLecture(lectureId);
+    public ResponseEntity<List<AttendanceResponse>> getAttendanceForLecture(
+            @PathVariable Long lectureId,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        List<AttendanceResponse> response = classService.getAttendanceForLecture(lectureId, includeArchived);
         return ResponseEntity.ok(response);
     }
 
+    // ========== Live attendance feed (SSE): snapshot, then one event per committed check-in ==========
+    @GetMapping(value = "/lectures/{lectureId}/attendance/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('LECTURER')")
+    public SseEmitter streamAttendanceForLecture(@PathVariable Long lectureId) {
+        return attendanceFeedHub.subscribe(lectureId);
+    }
+
 
     // ========== NEW: Get all classes for a specific grade ==========
     @GetMapping("/grade/{gradeId}")
     @PreAuthorize("hasAnyRole('STUDENT', 'LECTURER', 'ADMIN')")
-    public ResponseEntity<List<ClassResponse>> getClassesByGrade(@PathVariable Long gradeId) {
+    public ResponseEntity<List<?>> getClassesByGrade(
+            @PathVariable Long gradeId,
+            @RequestParam(required = false) String fields) {
+        Set<String> selected = FieldSelection.parse(fields, FieldSelection.CLASS_FIELDS);
+        if (selected != null) {
+            return ResponseEntity.ok(classService.getClassesByGrade(gradeId, selected));
+        }
         List<ClassResponse> response = classService.getClassesByGrade(gradeId);
         return ResponseEntity.ok(response);
     }
@@ -105,14 +247,77 @@ public class ClassController {
     // ========== NEW: Get all classes (with optional filters) ==========
     @GetMapping
     @PreAuthorize("hasAnyRole('LECTURER', 'ADMIN')")
-    public ResponseEntity<List<ClassResponse>> getAllClasses() {
+    public ResponseEntity<List<?>> getAllClasses(@RequestParam(required = false) String fields) {
+        Set<String> selected = FieldSelection.parse(fields, FieldSelection.CLASS_FIELDS);
+        if (selected != null) {
+            return ResponseEntity.ok(classService.getAllClasses(selected));
+        }
         List<ClassResponse> response = classService.getAllClasses();
         return ResponseEntity.ok(response);
     }
 
+    // ========== Paged: Get all classes ==========
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('LECTURER', 'ADMIN')")
+    public ResponseEntity<CursorPage<ClassResponse>> getClassesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) ClassEntity.ClassStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        return ResponseEntity.ok(classService.getClassesPage(cursor, limit, status, from, to));
+    }
+
+    // ========== Paged: Get lectures for a class ==========
+    @GetMapping("/{classId}/lectures/page")
+    public ResponseEntity<CursorPage<LectureResponse>> getLecturesPage(
+            @PathVariable Long classId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        return ResponseEntity.ok(classService.getLecturesPage(classId, cursor, limit, from, to));
+    }
+
+    // ========== Paged: Get attendance for a lecture ==========
+    @GetMapping("/lectures/{lectureId}/attendance/page")
+    @PreAuthorize("hasRole('LECTURER')")
+    public ResponseEntity<CursorPage<AttendanceResponse>> getAttendanceForLecturePage(
+            @PathVariable Long lectureId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Attendance.AttendanceStatus status) {
+
+        return ResponseEntity.ok(classService.getAttendanceForLecturePage(lectureId, cursor, limit, status));
+    }
+
+    // ========== Paged: Get attendance for a student ==========
+    @GetMapping("/students/{studentId}/attendance/page")
+    @PreAuthorize("hasAnyRole('STUDENT', 'LECTURER', 'ADMIN')")
+    public ResponseEntity<CursorPage<AttendanceResponse>> getAttendanceForStudentPage(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Attendance.AttendanceStatus status,
+            @RequestParam(required = false) Long classId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader("X-User-Id") Long currentUserId) {
+
+        return ResponseEntity.ok(classService.getAttendanceForStudentPage(
+                studentId, cursor, limit, status, classId, from, to));
+    }
+
     // ========== NEW: Get a single lecture by ID ==========
     @GetMapping("/lectures/{lectureId}")
-    public ResponseEntity<LectureResponse> getLectureById(@PathVariable Long lectureId) {
+    public ResponseEntity<LectureResponse> getLectureById(@PathVariable Long lectureId, WebRequest webRequest) {
+        ResourceVersion version = classService.getLectureVersion(lectureId);
+        if (webRequest.checkNotModified(version.etag(), version.lastModified())) {
+            return null;
+        }
+
         LectureResponse response = classService.getLectureById(lectureId);
         return ResponseEntity.ok(response);
     }
@@ -122,9 +327,10 @@ public class ClassController {
     @PreAuthorize("hasAnyRole('STUDENT', 'LECTURER', 'ADMIN')")
     public ResponseEntity<List<AttendanceResponse>> getAttendanceForStudent(
             @PathVariable Long studentId,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
             @RequestHeader("X-User-Id") Long currentUserId) {
 
-        List<AttendanceResponse> response = classService.getAttendanceForStudent(studentId);
+        List<AttendanceResponse> response = classService.getAttendanceForStudent(studentId, includeArchived);
         return ResponseEntity.ok(response);
     }
 
@@ -155,16 +361,50 @@ public class ClassController {
     // ========== NEW: Get all classes for a lecturer ==========
     @GetMapping("/lecturer/{lecturerId}")
     @PreAuthorize("hasRole('LECTURER') or hasRole('ADMIN')")
-    public ResponseEntity<List<ClassResponse>> getClassesByLecturer(
+    public ResponseEntity<List<?>> getClassesByLecturer(
             @PathVariable Long lecturerId,
+            @RequestParam(required = false) String fields,
             @RequestHeader("X-User-Id") Long currentUserId) {
 
-
-
+        Set<String> selected = FieldSelection.parse(fields, FieldSelection.CLASS_FIELDS);
+        if (selected != null) {
+            return ResponseEntity.ok(classService.getClassesByLecturer(lecturerId, selected));
+        }
         List<ClassResponse> response = classService.getClassesByLecturer(lecturerId);
         return ResponseEntity.ok(response);
     }
 
+    // ========== Timetables: lectures in [from, to) across classes, ordered by time ==========
+    @GetMapping("/grade/{gradeId}/timetable")
+    @PreAuthorize("hasAnyRole('STUDENT', 'LECTURER', 'ADMIN')")
+    public ResponseEntity<List<TimetableEntry>> getTimetableForGrade(
+            @PathVariable Long gradeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        return ResponseEntity.ok(classService.getTimetableForGrade(gradeId, from, to));
+    }
+
+    @GetMapping("/lecturer/{lecturerId}/timetable")
+    @PreAuthorize("hasRole('LECTURER') or hasRole('ADMIN')")
+    public ResponseEntity<List<TimetableEntry>> getTimetableForLecturer(
+            @PathVariable Long lecturerId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        return ResponseEntity.ok(classService.getTimetableForLecturer(lecturerId, from, to));
+    }
+
+    @GetMapping("/students/{studentId}/timetable")
+    @PreAuthorize("hasAnyRole('STUDENT', 'LECTURER', 'ADMIN')")
+    public ResponseEntity<List<TimetableEntry>> getTimetableForStudent(
+            @PathVariable Long studentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        return ResponseEntity.ok(classService.getTimetableForStudent(studentId, from, to));
+    }
+
     // ========== NEW: Update a lecture ==========
     @PutMapping("/lectures/{lectureId}")
     @PreAuthorize("hasRole('LECTURER')")
@@ -203,6 +443,55 @@ public class ClassController {
     }
 
 
+    // ========== Export attendance (CSV / NDJSON, streamed) ==========
+    @GetMapping("/attendance/export")
+    @PreAuthorize("hasAnyRole('LECTURER', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAttendance(
+            @RequestParam(required = false) Long classId,
+            @RequestParam(required = false) Long gradeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(defaultValue = "CSV") AttendanceExportService.ExportFormat format,
+            WebRequest webRequest) {
+
+        // Only this endpoint gets the long timeout; the default still applies to every other async request
+        WebAsyncUtils.getAsyncManager(webRequest).getAsyncWebRequest()
+                .setTimeout(attendanceExportService.getTimeout().toMillis());
+
+        boolean csv = format == AttendanceExportService.ExportFormat.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"attendance." + (csv ? "csv" : "ndjson") + "\"")
+                .body(attendanceExportService.export(classId, gradeId, from, to, includeArchived, format));
+    }
+
+    // ========== Attendance rate of a student in a class (from rollups) ==========
+    @GetMapping("/students/{studentId}/classes/{classId}/attendance-rate")
+    @PreAuthorize("hasAnyRole('STUDENT', 'LECTURER', 'ADMIN')")
+    public ResponseEntity<AttendanceRateResponse> getStudentAttendanceRate(
+            @PathVariable Long studentId,
+            @PathVariable Long classId) {
+
+        return ResponseEntity.ok(attendanceRollupService.getStudentClassRate(studentId, classId));
+    }
+
+    // ========== Attendance rate of a lecture (from rollups) ==========
+    @GetMapping("/lectures/{lectureId}/attendance-rate")
+    @PreAuthorize("hasAnyRole('LECTURER', 'ADMIN')")
+    public ResponseEntity<AttendanceRateResponse> getLectureAttendanceRate(@PathVariable Long lectureId) {
+        return ResponseEntity.ok(attendanceRollupService.getLectureRate(lectureId));
+    }
+
+    // ========== ADMIN: Rebuild attendance rollups ==========
+    @PostMapping("/attendance/rollups/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rebuildAttendanceRollups() {
+        attendanceRollupService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+
     // ========== ADMIN: Get total lectures count ==========
     @GetMapping("/lectures/count")
     @PreAuthorize("hasRole('ADMIN')")
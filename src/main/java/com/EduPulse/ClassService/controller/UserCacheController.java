@@ -0,0 +1,74 @@
+package com.EduPulse.ClassService.controller;
+
+import com.EduPulse.ClassService.service.NameSnapshotRefresher;
+import com.EduPulse.ClassService.service.UserLookupService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Lets user-service push invalidations for the grade / user near cache and
+ * exposes its counters so the cache can be sized in production. Evicting a grade
+ * or user also queues its name snapshots for the next refresh.
+ */
+@RestController
+@RequestMapping("/api/classes/cache")
+@RequiredArgsConstructor
+public class UserCacheController {
+
+    private final UserLookupService userLookupService;
+    private final NameSnapshotRefresher nameSnapshotRefresher;
+
+    // ========== Evict a single grade ==========
+    @DeleteMapping("/grades/{gradeId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> evictGrade(@PathVariable Long gradeId) {
+        userLookupService.evictGrade(gradeId);
+        nameSnapshotRefresher.markGradeStale(gradeId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // ========== Evict a single lecturer / student ==========
+    @DeleteMapping("/users/{userId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> evictUser(@PathVariable Long userId) {
+        userLookupService.evictUser(userId);
+        nameSnapshotRefresher.markUserStale(userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // ========== Evict everything ==========
+    @DeleteMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> evictAll() {
+        userLookupService.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    // ========== Hit / miss / eviction counters ==========
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Map<String, Object>>> getStats() {
+        Map<String, Long> sizes = userLookupService.sizes();
+        Map<String, Map<String, Object>> response = new LinkedHashMap<>();
+
+        userLookupService.stats().forEach((cache, stats) -> response.put(cache, toMap(stats, sizes.get(cache))));
+        return ResponseEntity.ok(response);
+    }
+
+    private static Map<String, Object> toMap(CacheStats stats, Long size) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("size", size);
+        values.put("hitCount", stats.hitCount());
+        values.put("missCount", stats.missCount());
+        values.put("hitRate", stats.hitRate());
+        values.put("evictionCount", stats.evictionCount());
+        values.put("loadFailureCount", stats.loadFailureCount());
+        return values;
+    }
+}
@@ -0,0 +1,78 @@
+package com.EduPulse.ClassService.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Read-your-writes for replica routing: a client (the {@code X-User-Id} of the request) that
+ * wrote within the last {@code datasource.replicas.sticky-window} reads from the primary, so it
+ * never sees a replica that has not caught up with its own change yet. Requests without a user
+ * id are only pinned after a write in the same request.
+ */
+@Component
+public class ReadYourWrites implements HandlerInterceptor {
+
+    private static final ThreadLocal<Client> CURRENT = new ThreadLocal<>();
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWrites(@Value("${datasource.replicas.sticky-window:PT5S}") Duration stickyWindow) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        bind(request.getHeader("X-User-Id"));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        clear();
+    }
+
+    public void bind(String clientKey) {
+        CURRENT.set(new Client(clientKey));
+    }
+
+    public void clear() {
+        CURRENT.remove();
+    }
+
+    // Called whenever a read-write transaction takes a connection from the primary
+    void markWrite() {
+        Client client = CURRENT.get();
+        if (client == null) {
+            return;
+        }
+        client.wrote = true;
+        if (client.key != null) {
+            recentWriters.put(client.key, Boolean.TRUE);
+        }
+    }
+
+    boolean pinnedToPrimary() {
+        Client client = CURRENT.get();
+        return client != null
+                && (client.wrote || (client.key != null && recentWriters.getIfPresent(client.key) != null));
+    }
+
+    private static final class Client {
+        private final String key;
+        private boolean wrote;
+
+        private Client(String key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.EduPulse.ClassService.datasource;
+
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+/**
+ * Keeps replica reads out of the second-level and query caches: a read-only transaction that will
+ * be routed to a replica runs with {@link CacheMode#IGNORE}. Otherwise possibly lagging replica rows
+ * end up in the caches, where primary reads (and read-your-writes) pick them up long after the
+ * sticky window. GET would do for entities, but Hibernate 6.6 still stores a query cache miss
+ * under GET, so replica transactions bypass the caches completely.
+ * <p>
+ * Decided when the transaction begins: Hibernate copies the session's cache mode into every query
+ * it creates, i.e. before the first statement makes the routing data source pick a database.
+ */
+public class ReplicaAwareJpaDialect extends HibernateJpaDialect {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    public ReplicaAwareJpaDialect(ReplicaRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (routingDataSource.routesToReplica(definition.isReadOnly())) {
+            // Queries take the session's cache mode, find() derives its own from the JPA properties
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+            entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        }
+        return transactionData;
+    }
+}
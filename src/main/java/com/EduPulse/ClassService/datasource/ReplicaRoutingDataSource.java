@@ -0,0 +1,71 @@
+package com.EduPulse.ClassService.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the replicas (round robin) and everything else to the primary.
+ * Has to sit behind a {@code LazyConnectionDataSourceProxy}: the read-only flag of a transaction
+ * is only known once it has begun, i.e. after the JPA transaction manager asked for a connection.
+ * <p>
+ * Sessions of transactions routed to a replica must not fill the second-level cache; see
+ * {@link ReplicaAwareJpaDialect}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final Map<Object, Object> pools = new HashMap<>();
+    private final ReadYourWrites readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas, ReadYourWrites readYourWrites) {
+        this.readYourWrites = readYourWrites;
+        pools.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            replicaKeys.add(key);
+            pools.put(key, replicas.get(i));
+        }
+        setTargetDataSources(pools);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWrites.markWrite();
+            }
+            return PRIMARY;
+        }
+        if (!routesToReplica(true)) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+    }
+
+    // Whether a transaction with this read-only flag, started now on this thread, reads from a replica
+    boolean routesToReplica(boolean readOnly) {
+        return readOnly && !replicaKeys.isEmpty() && !readYourWrites.pinnedToPrimary();
+    }
+
+    @Override
+    public void close() {
+        for (Object pool : pools.values()) {
+            if (pool instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+}
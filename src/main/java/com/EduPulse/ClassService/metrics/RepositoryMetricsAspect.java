@@ -0,0 +1,83 @@
+package com.EduPulse.ClassService.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every call into a repository - the Spring Data interfaces and the JDBC
+ * repositories alike - as {@code classservice.repository.invocations}, and adds
+ * the time to the request's Server-Timing database total.
+ * <p>
+ * Only the outermost repository call on a thread is timed: a repository calling
+ * another one (e.g. {@code LectureBatchRepository} -> {@code LectureCacheEvictor})
+ * is already covered by its caller's timer.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final MeterRegistry meterRegistry;
+
+    // One timer per (proxy class, method, exception), built on the first call
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    @Around("this(org.springframework.data.repository.Repository) " +
+            "|| within(com.EduPulse.ClassService.repository..*)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        int[] depth = DEPTH.get();
+        if (depth[0] > 0) {
+            return joinPoint.proceed();
+        }
+
+        depth[0]++;
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            depth[0]--;
+            long elapsed = System.nanoTime() - start;
+            ServerTimings.recordDb(elapsed);
+            timer(joinPoint, exception).record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint, String exception) {
+        TimerKey key = new TimerKey(joinPoint.getThis().getClass(), joinPoint.getSignature().getName(), exception);
+        return timers.computeIfAbsent(key, k -> Timer.builder("classservice.repository.invocations")
+                .tag("repository", repositoryName(joinPoint))
+                .tag("method", k.method())
+                .tag("outcome", "none".equals(k.exception()) ? "SUCCESS" : "ERROR")
+                .tag("exception", k.exception())
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    // Spring Data proxies only expose the repository through their interfaces
+    private static String repositoryName(ProceedingJoinPoint joinPoint) {
+        for (Class<?> type : joinPoint.getThis().getClass().getInterfaces()) {
+            if (type.getName().startsWith("com.EduPulse.ClassService.repository")) {
+                return type.getSimpleName();
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+
+    private record TimerKey(Class<?> repository, String method, String exception) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.EduPulse.ClassService.metrics;
+
+import feign.Capability;
+import feign.Client;
+
+/**
+ * Adds each user-service round-trip to the request's Server-Timing "remote" total.
+ * <p>
+ * Public on purpose: Feign invokes {@code enrich} reflectively and cannot reach the
+ * methods of a non-public (e.g. anonymous) class.
+ */
+public class ServerTimingCapability implements Capability {
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            long start = System.nanoTime();
+            try {
+                return client.execute(request, options);
+            } finally {
+                ServerTimings.recordRemote(System.nanoTime() - start);
+            }
+        };
+    }
+}
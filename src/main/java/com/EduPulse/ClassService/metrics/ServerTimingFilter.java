@@ -0,0 +1,68 @@
+package com.EduPulse.ClassService.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Starts the Server-Timing clock for every request and adds the header right before
+ * the response is committed, whatever commits it: a message converter, an empty
+ * ResponseEntity, a 304, a streamed export or the first flush of an SSE stream.
+ * <p>
+ * A filter rather than a HandlerInterceptor: most of those responses are already
+ * committed by the time {@code postHandle} runs, so only a response wrapper gets the
+ * header in (the same way Spring Security writes its headers).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Server-Timing";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ServerTimings timings = new ServerTimings(System.nanoTime());
+        request.setAttribute(ServerTimings.ATTRIBUTE, timings);
+
+        TimingResponse timingResponse = new TimingResponse(response, timings);
+        try {
+            chain.doFilter(request, timingResponse);
+        } finally {
+            // Nothing flushed it (e.g. a 304 from checkNotModified); the container commits it after us
+            if (!request.isAsyncStarted()) {
+                timingResponse.writeHeader();
+            }
+        }
+    }
+
+    private static final class TimingResponse extends OnCommittedResponseWrapper {
+
+        private final ServerTimings timings;
+
+        TimingResponse(HttpServletResponse response, ServerTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeader();
+        }
+
+        void writeHeader() {
+            if (!isDisableOnResponseCommitted() && !isCommitted()) {
+                disableOnResponseCommitted();
+                addHeader(HEADER, timings.toHeaderValue());
+            }
+        }
+    }
+}
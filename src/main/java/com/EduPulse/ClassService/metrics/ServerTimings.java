@@ -0,0 +1,65 @@
+package com.EduPulse.ClassService.metrics;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-request accumulator of database and user-service time, reported to the
+ * browser in the {@code Server-Timing} response header.
+ * <p>
+ * It lives in the request attributes, which {@code EnrichmentExecutor} carries over
+ * to its virtual threads, so concurrent lookups are counted too.
+ */
+public class ServerTimings {
+
+    static final String ATTRIBUTE = ServerTimings.class.getName();
+
+    private final long startNanos;
+    private final LongAdder dbNanos = new LongAdder();
+    private final LongAdder dbCalls = new LongAdder();
+    private final LongAdder remoteNanos = new LongAdder();
+    private final LongAdder remoteCalls = new LongAdder();
+
+    ServerTimings(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    public static void recordDb(long nanos) {
+        ServerTimings timings = current();
+        if (timings != null) {
+            timings.dbNanos.add(nanos);
+            timings.dbCalls.increment();
+        }
+    }
+
+    public static void recordRemote(long nanos) {
+        ServerTimings timings = current();
+        if (timings != null) {
+            timings.remoteNanos.add(nanos);
+            timings.remoteCalls.increment();
+        }
+    }
+
+    static ServerTimings current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                ? (ServerTimings) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+    }
+
+    // e.g. db;dur=12.4;desc="3 queries", remote;dur=40.0;desc="2 calls", total;dur=55.1
+    String toHeaderValue() {
+        return String.format(Locale.ROOT,
+                "db;dur=%.1f;desc=\"%d queries\", remote;dur=%.1f;desc=\"%d calls\", total;dur=%.1f",
+                millis(dbNanos.sum()), dbCalls.sum(),
+                millis(remoteNanos.sum()), remoteCalls.sum(),
+                millis(System.nanoTime() - startNanos));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
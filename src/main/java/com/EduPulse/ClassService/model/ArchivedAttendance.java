@@ -0,0 +1,50 @@
+package com.EduPulse.ClassService.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// An attendance row of an archived class, moved out of the hot attendance table by ClassArchiver (same id)
+@Entity
+@Immutable
+@Table(name = "attendance_archive",
+        indexes = {
+                @Index(name = "idx_attendance_archive_student_lecture", columnList = "student_id, lecture_id"),
+                @Index(name = "idx_attendance_archive_lecture_id", columnList = "lecture_id")
+        })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedAttendance {
+
+    @Id
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "student_name")
+    private String studentName;
+
+    @Column(name = "student_name_refreshed_at")
+    private LocalDateTime studentNameRefreshedAt;
+
+    // Id of an ArchivedLecture
+    @Column(name = "lecture_id", nullable = false)
+    private Long lectureId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Attendance.AttendanceStatus status;
+
+    private LocalDateTime checkInTime;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,47 @@
+package com.EduPulse.ClassService.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// A lecture of an archived class, moved out of the hot lectures table by ClassArchiver (same id)
+@Entity
+@Immutable
+@Table(name = "lectures_archive",
+        indexes = @Index(name = "idx_lectures_archive_class_date_time", columnList = "class_id, date_time"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedLecture {
+
+    @Id
+    private Long id;
+
+    @Column(name = "class_id", nullable = false)
+    private Long classId;
+
+    @Column(name = "series_id", length = 36)
+    private String seriesId;
+
+    private String title;
+
+    private String description;
+
+    @Column(nullable = false)
+    private LocalDateTime dateTime;
+
+    private String videoLink;
+    private String pdfUrl;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -9,7 +9,13 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "attendance")
+@Table(name = "attendance",
+        uniqueConstraints = @UniqueConstraint(name = "uk_attendance_lecture_student",
+                columnNames = {"lecture_id", "student_id"}),
+        indexes = {
+                @Index(name = "idx_attendance_student_lecture", columnList = "student_id, lecture_id"),
+                @Index(name = "idx_attendance_student_name_refreshed_at", columnList = "student_name_refreshed_at")
+        })
 @Data
 @Builder
 @NoArgsConstructor
@@ -23,6 +29,13 @@ public class Attendance {
     @Column(name = "student_id", nullable = false)
     private Long studentId;
 
+    // Snapshot of the student's name; kept fresh by NameSnapshotRefresher
+    @Column(name = "student_name")
+    private String studentName;
+
+    @Column(name = "student_name_refreshed_at")
+    private LocalDateTime studentNameRefreshedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "lecture_id", nullable = false)
     private Lecture lecture;
@@ -6,14 +6,26 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 // ClassEntity.java
 @Entity
-@Table(name = "classes")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)  // second-level cache; see hibernate.cache.* in application.properties
+@Table(name = "classes",
+        indexes = {
+                @Index(name = "idx_classes_names_refreshed_at", columnList = "names_refreshed_at"),
+                @Index(name = "idx_classes_grade_id", columnList = "grade_id"),
+                @Index(name = "idx_classes_lecturer_id", columnList = "lecturer_id"),
+                @Index(name = "idx_classes_status_archived_at", columnList = "status, archived_at")
+        })
 @Data
 @Builder
 @NoArgsConstructor
@@ -35,15 +47,39 @@ public class ClassEntity {
     @Column(name = "lecturer_id", nullable = false)
     private Long lecturerId;
 
+    // Display-name snapshots so reads need no user-service call; kept fresh by NameSnapshotRefresher
+    @Column(name = "grade_name")
+    private String gradeName;
+
+    @Column(name = "lecturer_name")
+    private String lecturerName;
+
+    @Column(name = "names_refreshed_at")
+    private LocalDateTime namesRefreshedAt;
+
     @Column(nullable = false)
     private LocalDate startDate;
 
     @Column(nullable = false)
     private LocalDate endDate;
 
+    @Builder.Default
     @Enumerated(EnumType.STRING)
     private ClassStatus status = ClassStatus.ACTIVE;
 
+    // When the class was archived; its lectures and attendance move to the archive tables after archive.after
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    // Optimistic lock and validators for conditional GETs (ETag / Last-Modified)
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "classEntity", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Lecture> lectures = new ArrayList<>();
 
@@ -6,11 +6,20 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "lectures")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "lectures",
+        indexes = {
+                @Index(name = "idx_lectures_class_date_time", columnList = "class_id, date_time"),
+                @Index(name = "idx_lectures_series_id", columnList = "series_id")
+        })
 @Data
 @Builder
 @NoArgsConstructor
@@ -36,6 +45,19 @@ public class Lecture {
     private String videoLink;
     private String pdfUrl;
 
+    // Shared by the lectures generated from one recurrence rule, null for one-off lectures
+    @Column(name = "series_id", length = 36)
+    private String seriesId;
+
+    @Builder.Default
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    // Optimistic lock and validators for conditional GETs (ETag / Last-Modified)
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.EduPulse.ClassService.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Running PRESENT / LATE / ABSENT counts for one lecture
+@Entity
+@Table(name = "attendance_lecture_rollup")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LectureAttendanceRollup {
+
+    @Id
+    @Column(name = "lecture_id")
+    private Long lectureId;
+
+    @Column(nullable = false)
+    private long presentCount;
+
+    @Column(nullable = false)
+    private long lateCount;
+
+    @Column(nullable = false)
+    private long absentCount;
+}
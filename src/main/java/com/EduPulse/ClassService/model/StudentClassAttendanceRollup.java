@@ -0,0 +1,37 @@
+package com.EduPulse.ClassService.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Running PRESENT / LATE / ABSENT counts for one student in one class
+@Entity
+@Table(name = "attendance_student_class_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rollup_student_class", columnNames = {"student_id", "class_id"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentClassAttendanceRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "class_id", nullable = false)
+    private Long classId;
+
+    @Column(nullable = false)
+    private long presentCount;
+
+    @Column(nullable = false)
+    private long lateCount;
+
+    @Column(nullable = false)
+    private long absentCount;
+}
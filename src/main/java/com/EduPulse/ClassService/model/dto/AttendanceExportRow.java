@@ -0,0 +1,16 @@
+package com.EduPulse.ClassService.model.dto;
+
+import java.time.LocalDateTime;
+
+// One exported attendance line (student, lecture, status, check-in time)
+public record AttendanceExportRow(
+        Long attendanceId,
+        Long studentId,
+        Long lectureId,
+        String lectureTitle,
+        LocalDateTime lectureDateTime,
+        Long classId,
+        String className,
+        String status,
+        LocalDateTime checkInTime) {
+}
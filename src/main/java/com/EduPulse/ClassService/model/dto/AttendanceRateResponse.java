@@ -0,0 +1,17 @@
+package com.EduPulse.ClassService.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class AttendanceRateResponse {
+    private Long studentId;          // null for lecture rates
+    private Long classId;
+    private Long lectureId;          // null for student/class rates
+    private long presentCount;
+    private long lateCount;
+    private long absentCount;
+    private long totalCount;
+    private double attendanceRate;   // (present + late) / total, 0 when nothing is marked
+}
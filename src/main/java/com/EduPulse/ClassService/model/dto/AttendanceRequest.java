@@ -1,10 +1,15 @@
 package com.EduPulse.ClassService.model.dto;
 
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import lombok.Data;
 
 @Data
 public class AttendanceRequest {
+    @NotNull
     private Long studentId;
+    @NotNull
+    @Pattern(regexp = "(?i)PRESENT|ABSENT|LATE")
     private String status; // "PRESENT", "ABSENT", "LATE"
     private String notes;  // optional
 }
\ No newline at end of file
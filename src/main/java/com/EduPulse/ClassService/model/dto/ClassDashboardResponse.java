@@ -0,0 +1,30 @@
+package com.EduPulse.ClassService.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Everything the class page shows in one response: the class, its lectures and their attendance counts
+@Data
+@Builder
+public class ClassDashboardResponse {
+    private ClassResponse classInfo;
+    private List<LectureSummary> lectures;   // by dateTime
+
+    @Data
+    @Builder
+    public static class LectureSummary {
+        private Long id;
+        private String title;
+        private String description;
+        private LocalDateTime dateTime;
+        private String videoLink;
+        private String pdfUrl;
+        private LocalDateTime createdAt;
+        private long presentCount;
+        private long lateCount;
+        private long absentCount;
+    }
+}
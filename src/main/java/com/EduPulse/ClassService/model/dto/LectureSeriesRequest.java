@@ -0,0 +1,31 @@
+package com.EduPulse.ClassService.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Weekly recurrence: one lecture every dayOfWeek at time, from the class start date until
+// count lectures were created, the until date or the class end date, whichever comes first
+@Data
+public class LectureSeriesRequest {
+    @NotBlank
+    private String title;
+    private String description;
+    private String videoLink;
+    private String pdfUrl;
+    @NotNull
+    private DayOfWeek dayOfWeek;
+    @NotNull
+    private LocalTime time;
+    @Positive
+    private Integer count;
+    private LocalDate until;
+    private List<LocalDate> exclusions = new ArrayList<>();  // skipped dates (holidays), not counted
+}
@@ -0,0 +1,14 @@
+package com.EduPulse.ClassService.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class LectureSeriesResponse {
+    private String seriesId;
+    private Long classId;
+    private List<LectureResponse> lectures;   // by dateTime
+}
@@ -0,0 +1,14 @@
+package com.EduPulse.ClassService.model.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Data
+public class LectureSeriesShiftRequest {
+    @NotNull
+    private Duration shiftBy;    // ISO-8601, e.g. P7D or PT-30M
+    private LocalDateTime from;  // only lectures at or after this; null = the whole series
+}
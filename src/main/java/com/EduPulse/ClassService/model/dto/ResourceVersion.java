@@ -0,0 +1,5 @@
+package com.EduPulse.ClassService.model.dto;
+
+// Validators for a conditional GET: strong ETag and Last-Modified in epoch millis (-1 when unknown)
+public record ResourceVersion(String etag, long lastModified) {
+}
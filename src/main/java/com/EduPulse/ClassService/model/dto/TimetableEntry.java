@@ -0,0 +1,20 @@
+package com.EduPulse.ClassService.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// One lecture on a timetable, with just enough of its class to render it
+@Data
+@Builder
+public class TimetableEntry {
+    private Long lectureId;
+    private Long classId;
+    private String className;
+    private String title;
+    private LocalDateTime dateTime;
+    private String videoLink;
+    private Long lecturerId;
+    private String lecturerName;
+}
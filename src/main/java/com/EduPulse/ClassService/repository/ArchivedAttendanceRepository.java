@@ -0,0 +1,22 @@
+package com.EduPulse.ClassService.repository;
+
+import com.EduPulse.ClassService.model.ArchivedAttendance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ArchivedAttendanceRepository extends JpaRepository<ArchivedAttendance, Long> {
+
+    List<ArchivedAttendance> findByLectureIdOrderById(Long lectureId);
+
+    // Same shape as AttendanceRepository#findRowsByStudentId, with the archived lecture's title
+    @Query("SELECT a.id AS id, a.studentId AS studentId, a.studentName AS studentName, " +
+            "a.studentNameRefreshedAt AS studentNameRefreshedAt, l.id AS lectureId, l.title AS lectureTitle, " +
+            "a.status AS status, a.checkInTime AS checkInTime " +
+            "FROM ArchivedAttendance a JOIN ArchivedLecture l ON l.id = a.lectureId " +
+            "WHERE a.studentId = :studentId " +
+            "ORDER BY a.id")
+    List<AttendanceRepository.AttendanceRow> findRowsByStudentId(@Param("studentId") Long studentId);
+}
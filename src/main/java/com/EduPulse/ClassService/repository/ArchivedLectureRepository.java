@@ -0,0 +1,26 @@
+package com.EduPulse.ClassService.repository;
+
+import com.EduPulse.ClassService.model.ArchivedLecture;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ArchivedLectureRepository extends JpaRepository<ArchivedLecture, Long> {
+
+    // Same shape as the hot lecture rows, so history reads can append them
+    @Query("SELECT l.id AS id, l.classId AS classId, l.title AS title, l.description AS description, " +
+            "l.dateTime AS dateTime, l.videoLink AS videoLink, l.pdfUrl AS pdfUrl, l.createdAt AS createdAt " +
+            "FROM ArchivedLecture l WHERE l.classId = :classId ORDER BY l.dateTime, l.id")
+    List<LectureRepository.LectureRow> findRowsByClassId(@Param("classId") Long classId);
+
+    @Query("SELECT l.id AS id, l.classId AS classId, l.title AS title, l.description AS description, " +
+            "l.dateTime AS dateTime, l.videoLink AS videoLink, l.pdfUrl AS pdfUrl, l.createdAt AS createdAt " +
+            "FROM ArchivedLecture l WHERE l.id = :lectureId")
+    Optional<LectureRepository.LectureRow> findRowById(@Param("lectureId") Long lectureId);
+
+    // Archived classes keep counting the lectures ClassArchiver moved here
+    long countByClassId(Long classId);
+}
@@ -0,0 +1,146 @@
+package com.EduPulse.ClassService.repository;
+
+import com.EduPulse.ClassService.model.Attendance;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Attendance writes backed by the unique (lecture_id, student_id) index.
+ * <p>
+ * Single check-ins write first: an {@code INSERT IGNORE} creates the row, or leaves an existing
+ * one alone, after which that row can be locked by the index and updated. No locking read ever
+ * looks for a missing row, so first check-ins take no gap locks. Rosters go through a batched
+ * {@code INSERT ... ON DUPLICATE KEY UPDATE}, which {@code rewriteBatchedStatements=true} turns
+ * into multi-row statements on MySQL ({@link Attendance} uses IDENTITY ids, so Hibernate itself
+ * would insert row by row). Their callers lock the previous statuses first so they can move the
+ * rollup counts, and re-run deadlock victims ({@code DeadlockRetry}).
+ */
+@Repository
+@RequiredArgsConstructor
+public class AttendanceBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT =
+            "INSERT INTO attendance (student_id, lecture_id, status, check_in_time, student_name, student_name_refreshed_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE status = VALUES(status), check_in_time = VALUES(check_in_time), " +
+            "student_name = VALUES(student_name), student_name_refreshed_at = VALUES(student_name_refreshed_at)";
+
+    private static final String INSERT_IF_ABSENT =
+            "INSERT IGNORE INTO attendance (student_id, lecture_id, status, check_in_time, student_name, student_name_refreshed_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * Id and status of the student's attendance row, locked until the end of the transaction.
+     */
+    public Optional<Attendance> findForUpdate(Long lectureId, Long studentId) {
+        return jdbcTemplate.query(
+                "SELECT id, student_id, status FROM attendance WHERE lecture_id = ? AND student_id = ? FOR UPDATE",
+                (rs, rowNum) -> existing(rs), lectureId, studentId).stream().findFirst();
+    }
+
+    /**
+     * Inserts the row unless the student is already marked for this lecture.
+     *
+     * @return the new row's id, or empty if a row existed and was left untouched
+     */
+    public Optional<Long> insertIfAbsent(Long lectureId, Attendance attendance) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        int inserted = jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_IF_ABSENT, new String[] {"id"});
+            bind(ps, lectureId, attendance);
+            return ps;
+        }, keyHolder);
+        return inserted == 0 ? Optional.empty() : Optional.of(keyHolder.getKeyAs(Long.class));
+    }
+
+    public void update(Long id, Attendance attendance) {
+        jdbcTemplate.update(
+                "UPDATE attendance SET status = ?, check_in_time = ?, student_name = ?, student_name_refreshed_at = ? " +
+                "WHERE id = ?",
+                attendance.getStatus().name(),
+                Timestamp.valueOf(attendance.getCheckInTime()),
+                attendance.getStudentName(),
+                attendance.getStudentNameRefreshedAt() != null ? Timestamp.valueOf(attendance.getStudentNameRefreshedAt()) : null,
+                id);
+    }
+
+    public void upsertAll(Long lectureId, List<Attendance> attendances) {
+        jdbcTemplate.batchUpdate(UPSERT, attendances, BATCH_SIZE, (ps, attendance) -> bind(ps, lectureId, attendance));
+    }
+
+    /**
+     * Id and status of the given students' rows in this lecture, keyed by student ID and locked
+     * until the end of the transaction.
+     */
+    public Map<Long, Attendance> findExistingForUpdate(Long lectureId, Collection<Long> studentIds) {
+        Map<Long, Attendance> existing = new HashMap<>();
+        if (studentIds.isEmpty()) {
+            return existing;
+        }
+
+        namedJdbcTemplate.query(
+                "SELECT id, student_id, status FROM attendance " +
+                "WHERE lecture_id = :lectureId AND student_id IN (:studentIds) FOR UPDATE",
+                Map.of("lectureId", lectureId, "studentIds", studentIds),
+                rs -> {
+                    existing.put(rs.getLong("student_id"), existing(rs));
+                });
+        return existing;
+    }
+
+    /**
+     * Maps student ID to attendance ID for the given students of this lecture.
+     */
+    public Map<Long, Long> findIdsByStudentId(Long lectureId, Collection<Long> studentIds) {
+        Map<Long, Long> ids = new HashMap<>();
+        if (studentIds.isEmpty()) {
+            return ids;
+        }
+
+        namedJdbcTemplate.query(
+                "SELECT student_id, id FROM attendance WHERE lecture_id = :lectureId AND student_id IN (:studentIds)",
+                Map.of("lectureId", lectureId, "studentIds", studentIds),
+                rs -> {
+                    ids.put(rs.getLong("student_id"), rs.getLong("id"));
+                });
+        return ids;
+    }
+
+    private static Attendance existing(ResultSet rs) throws SQLException {
+        return Attendance.builder()
+                .id(rs.getLong("id"))
+                .studentId(rs.getLong("student_id"))
+                .status(Attendance.AttendanceStatus.valueOf(rs.getString("status")))
+                .build();
+    }
+
+    private static void bind(PreparedStatement ps, Long lectureId, Attendance attendance) throws SQLException {
+        ps.setLong(1, attendance.getStudentId());
+        ps.setLong(2, lectureId);
+        ps.setString(3, attendance.getStatus().name());
+        ps.setTimestamp(4, Timestamp.valueOf(attendance.getCheckInTime()));
+        ps.setString(5, attendance.getStudentName());
+        ps.setTimestamp(6, attendance.getStudentNameRefreshedAt() != null
+                ? Timestamp.valueOf(attendance.getStudentNameRefreshedAt())
+                : null);
+    }
+}
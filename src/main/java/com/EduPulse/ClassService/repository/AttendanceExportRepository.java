@@ -0,0 +1,116 @@
+package com.EduPulse.ClassService.repository;
+
+import com.EduPulse.ClassService.model.dto.AttendanceExportRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads attendance for exports through a forward-only JDBC cursor, handing each
+ * row to the caller as soon as it arrives instead of collecting a list.
+ * <p>
+ * MySQL buffers the whole result set unless the statement asks for row-by-row
+ * streaming with a fetch size of {@link Integer#MIN_VALUE}. That is set on this
+ * statement only, so the rest of the application keeps the driver's defaults.
+ */
+@Repository
+public class AttendanceExportRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public AttendanceExportRepository(JdbcTemplate jdbcTemplate,
+                                      @Value("${attendance.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Streams every attendance row matching the filters (all optional) to {@code sink}.
+     * {@code from}/{@code to} bound the lecture date as a half-open range. With
+     * {@code includeArchived} the rows ClassArchiver moved to the archive tables follow.
+     */
+    public void streamRows(Long classId, Long gradeId, LocalDateTime from, LocalDateTime to, boolean includeArchived,
+                           Consumer<AttendanceExportRow> sink) {
+        StringBuilder sql = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+        appendSelect(sql, params, "attendance", "lectures", classId, gradeId, from, to);
+        if (includeArchived) {
+            // Attendance is moved before its lecture, so archived rows may still point at a hot lecture
+            sql.append(" UNION ALL ");
+            appendSelect(sql, params, "attendance_archive", "lectures", classId, gradeId, from, to);
+            sql.append(" UNION ALL ");
+            appendSelect(sql, params, "attendance_archive", "lectures_archive", classId, gradeId, from, to);
+        }
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(isMySql(connection) ? Integer.MIN_VALUE : fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, rs -> {
+            sink.accept(toRow(rs));
+        });
+    }
+
+    private static void appendSelect(StringBuilder sql, List<Object> params, String attendanceTable,
+                                     String lecturesTable, Long classId, Long gradeId,
+                                     LocalDateTime from, LocalDateTime to) {
+        sql.append("SELECT a.id, a.student_id, l.id AS lecture_id, l.title, l.date_time, " +
+                        "c.id AS class_id, c.name AS class_name, a.status, a.check_in_time ")
+                .append("FROM ").append(attendanceTable).append(" a ")
+                .append("JOIN ").append(lecturesTable).append(" l ON l.id = a.lecture_id ")
+                .append("JOIN classes c ON c.id = l.class_id ")
+                .append("WHERE 1 = 1");
+        if (classId != null) {
+            sql.append(" AND c.id = ?");
+            params.add(classId);
+        }
+        if (gradeId != null) {
+            sql.append(" AND c.grade_id = ?");
+            params.add(gradeId);
+        }
+        if (from != null) {
+            sql.append(" AND l.date_time >= ?");
+            params.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND l.date_time < ?");
+            params.add(Timestamp.valueOf(to));
+        }
+    }
+
+    private static boolean isMySql(Connection connection) throws SQLException {
+        return "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+    }
+
+    private static AttendanceExportRow toRow(ResultSet rs) throws SQLException {
+        return new AttendanceExportRow(
+                rs.getLong("id"),
+                rs.getLong("student_id"),
+                rs.getLong("lecture_id"),
+                rs.getString("title"),
+                toLocalDateTime(rs.getTimestamp("date_time")),
+                rs.getLong("class_id"),
+                rs.getString("class_name"),
+                rs.getString("status"),
+                toLocalDateTime(rs.getTimestamp("check_in_time")));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
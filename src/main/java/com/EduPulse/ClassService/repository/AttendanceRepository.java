@@ -1,8 +1,14 @@
 package com.EduPulse.ClassService.repository;
 
 import com.EduPulse.ClassService.model.Attendance;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,7 +18,86 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
 
     List<Attendance> findByStudentId(Long studentId);
 
+    // A student's history with the lecture columns joined in, instead of one lazy lecture load per row
+    @Query("SELECT a.id AS id, a.studentId AS studentId, a.studentName AS studentName, " +
+            "a.studentNameRefreshedAt AS studentNameRefreshedAt, l.id AS lectureId, l.title AS lectureTitle, " +
+            "a.status AS status, a.checkInTime AS checkInTime " +
+            "FROM Attendance a JOIN a.lecture l " +
+            "WHERE a.studentId = :studentId " +
+            "ORDER BY a.id")
+    List<AttendanceRow> findRowsByStudentId(@Param("studentId") Long studentId);
+
     List<Attendance> findByStudentIdAndStatus(Long studentId, Attendance.AttendanceStatus status);
 
     List<Attendance> findByLectureIdAndStatus(Long lectureId, Attendance.AttendanceStatus status);
-}
\ No newline at end of file
+
+    // Keyset page of a student's history, filtered by status, class and lecture date
+    @Query("SELECT a FROM Attendance a JOIN FETCH a.lecture l " +
+            "WHERE a.studentId = :studentId " +
+            "AND a.id > :afterId " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "AND (:classId IS NULL OR l.classEntity.id = :classId) " +
+            "AND (:from IS NULL OR l.dateTime >= :from) " +
+            "AND (:to IS NULL OR l.dateTime < :to) " +
+            "ORDER BY a.id")
+    Slice<Attendance> findPageByStudentId(@Param("studentId") Long studentId,
+                                          @Param("afterId") Long afterId,
+                                          @Param("status") Attendance.AttendanceStatus status,
+                                          @Param("classId") Long classId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to,
+                                          Pageable pageable);
+
+    // Keyset page of one lecture's roster
+    @Query("SELECT a FROM Attendance a " +
+            "WHERE a.lecture.id = :lectureId " +
+            "AND a.id > :afterId " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "ORDER BY a.id")
+    Slice<Attendance> findPageByLectureId(@Param("lectureId") Long lectureId,
+                                          @Param("afterId") Long afterId,
+                                          @Param("status") Attendance.AttendanceStatus status,
+                                          Pageable pageable);
+
+    // ========== Student name snapshots ==========
+    // Next students (in id order) with at least one missing or stale name snapshot
+    @Query("SELECT DISTINCT a.studentId FROM Attendance a " +
+            "WHERE a.studentId > :afterId " +
+            "AND (a.studentNameRefreshedAt IS NULL OR a.studentNameRefreshedAt < :cutoff) " +
+            "ORDER BY a.studentId")
+    List<Long> findStudentsWithStaleNames(@Param("afterId") Long afterId,
+                                          @Param("cutoff") LocalDateTime cutoff,
+                                          Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Attendance a SET a.studentName = :studentName, a.studentNameRefreshedAt = :refreshedAt " +
+            "WHERE a.studentId = :studentId")
+    int updateStudentName(@Param("studentId") Long studentId,
+                          @Param("studentName") String studentName,
+                          @Param("refreshedAt") LocalDateTime refreshedAt);
+
+    @Modifying
+    @Query("UPDATE Attendance a SET a.studentNameRefreshedAt = NULL WHERE a.studentId = :studentId")
+    int markStudentNameStale(@Param("studentId") Long studentId);
+
+    @Query("SELECT MIN(a.studentNameRefreshedAt) FROM Attendance a")
+    LocalDateTime findOldestStudentNameSnapshot();
+
+    interface AttendanceRow {
+        Long getId();
+
+        Long getStudentId();
+
+        String getStudentName();
+
+        LocalDateTime getStudentNameRefreshedAt();
+
+        Long getLectureId();
+
+        String getLectureTitle();
+
+        Attendance.AttendanceStatus getStatus();
+
+        LocalDateTime getCheckInTime();
+    }
+}
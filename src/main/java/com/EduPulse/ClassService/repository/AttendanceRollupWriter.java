@@ -0,0 +1,127 @@
+package com.EduPulse.ClassService.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-statement upserts that add deltas to the attendance rollup tables, plus
+ * the per-class rebuild used to reconcile them with the attendance table.
+ * <p>
+ * A delta touches exactly one row per rollup key, so a check-in costs the same however
+ * large the roster is. The rebuild also counts the archive tables, so rates of
+ * archived classes survive it.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AttendanceRollupWriter {
+
+    private static final String STUDENT_CLASS_UPSERT =
+            "INSERT INTO attendance_student_class_rollup (student_id, class_id, present_count, late_count, absent_count) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE present_count = present_count + VALUES(present_count), " +
+            "late_count = late_count + VALUES(late_count), absent_count = absent_count + VALUES(absent_count)";
+
+    private static final String LECTURE_UPSERT =
+            "INSERT INTO attendance_lecture_rollup (lecture_id, present_count, late_count, absent_count) " +
+            "VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE present_count = present_count + VALUES(present_count), " +
+            "late_count = late_count + VALUES(late_count), absent_count = absent_count + VALUES(absent_count)";
+
+    private static final String COUNTS =
+            "COALESCE(SUM(CASE WHEN a.status = 'PRESENT' THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN a.status = 'LATE' THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN a.status = 'ABSENT' THEN 1 ELSE 0 END), 0) ";
+
+    // Hot and archived lectures of one class (binds the class id twice)
+    private static final String CLASS_LECTURE_IDS =
+            "SELECT id FROM lectures WHERE class_id = ? UNION ALL SELECT id FROM lectures_archive WHERE class_id = ?";
+
+    // Hot and archived attendance of one class; archived rows may still point at a hot lecture (binds 4 times)
+    private static final String CLASS_ATTENDANCE =
+            "(SELECT student_id, lecture_id, status FROM attendance WHERE lecture_id IN (" + CLASS_LECTURE_IDS + ") " +
+            "UNION ALL SELECT student_id, lecture_id, status FROM attendance_archive " +
+            "WHERE lecture_id IN (" + CLASS_LECTURE_IDS + ")) a ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Counter changes for one attendance row; each count is -1, 0 or +1.
+     */
+    public record Delta(Long studentId, Long classId, Long lectureId, int present, int late, int absent) {
+    }
+
+    public void apply(List<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(STUDENT_CLASS_UPSERT, deltas, deltas.size(), (ps, delta) -> {
+            ps.setLong(1, delta.studentId());
+            ps.setLong(2, delta.classId());
+            ps.setInt(3, delta.present());
+            ps.setInt(4, delta.late());
+            ps.setInt(5, delta.absent());
+        });
+
+        // A roster touches the same lecture row many times, so fold those first
+        Map<Long, int[]> lectureDeltas = new LinkedHashMap<>();
+        for (Delta delta : deltas) {
+            int[] counts = lectureDeltas.computeIfAbsent(delta.lectureId(), lectureId -> new int[3]);
+            counts[0] += delta.present();
+            counts[1] += delta.late();
+            counts[2] += delta.absent();
+        }
+        List<Map.Entry<Long, int[]>> lectureRows = new ArrayList<>(lectureDeltas.entrySet());
+        jdbcTemplate.batchUpdate(LECTURE_UPSERT, lectureRows, lectureRows.size(), (ps, row) -> {
+            ps.setLong(1, row.getKey());
+            ps.setInt(2, row.getValue()[0]);
+            ps.setInt(3, row.getValue()[1]);
+            ps.setInt(4, row.getValue()[2]);
+        });
+    }
+
+    public List<Long> findClassIds(Long afterId, int limit) {
+        return jdbcTemplate.queryForList("SELECT id FROM classes WHERE id > ? ORDER BY id LIMIT ?",
+                Long.class, afterId, limit);
+    }
+
+    /**
+     * Recomputes the rollup rows of one class; run inside a transaction. The class's attendance
+     * rows are locked first, the same rows a marking locks before it applies its delta: a marking
+     * that started earlier is counted once it commits, and one that starts later adds its delta
+     * to the rebuilt counts.
+     */
+    public void rebuildClass(Long classId) {
+        jdbcTemplate.query("SELECT id FROM attendance WHERE lecture_id IN (" + CLASS_LECTURE_IDS + ") FOR UPDATE",
+                rs -> {
+                }, classId, classId);
+
+        jdbcTemplate.update("DELETE FROM attendance_student_class_rollup WHERE class_id = ?", classId);
+        jdbcTemplate.update(
+                "INSERT INTO attendance_student_class_rollup (student_id, class_id, present_count, late_count, absent_count) " +
+                "SELECT a.student_id, ?, " + COUNTS +
+                "FROM " + CLASS_ATTENDANCE + "GROUP BY a.student_id",
+                classId, classId, classId, classId, classId);
+
+        jdbcTemplate.update("DELETE FROM attendance_lecture_rollup WHERE lecture_id IN (" + CLASS_LECTURE_IDS + ")",
+                classId, classId);
+        jdbcTemplate.update(
+                "INSERT INTO attendance_lecture_rollup (lecture_id, present_count, late_count, absent_count) " +
+                "SELECT a.lecture_id, " + COUNTS +
+                "FROM " + CLASS_ATTENDANCE + "GROUP BY a.lecture_id",
+                classId, classId, classId, classId);
+    }
+
+    // Rows of lectures that no longer exist anywhere; nothing marks those any more
+    public void deleteOrphans() {
+        jdbcTemplate.update("DELETE FROM attendance_lecture_rollup WHERE lecture_id NOT IN " +
+                "(SELECT id FROM lectures UNION ALL SELECT id FROM lectures_archive)");
+        jdbcTemplate.update("DELETE FROM attendance_student_class_rollup WHERE class_id NOT IN (SELECT id FROM classes)");
+    }
+}
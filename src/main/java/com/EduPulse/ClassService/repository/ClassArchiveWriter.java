@@ -0,0 +1,83 @@
+package com.EduPulse.ClassService.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves the lectures and attendance of archived classes into {@code lectures_archive} /
+ * {@code attendance_archive}, one bounded chunk per call.
+ * <p>
+ * Each chunk picks its ids first, then copies and deletes exactly those rows, so a chunk
+ * touches at most {@code chunkSize} rows of the hot table. Attendance goes first; a lecture
+ * is only moved once no attendance references it. Ids are kept, so cursors and rollups
+ * that refer to them stay valid. Call inside a transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ClassArchiveWriter {
+
+    private static final String COPY_ATTENDANCE =
+            "INSERT INTO attendance_archive (id, student_id, student_name, student_name_refreshed_at, lecture_id, " +
+            "status, check_in_time, archived_at) " +
+            "SELECT id, student_id, student_name, student_name_refreshed_at, lecture_id, status, check_in_time, " +
+            "CURRENT_TIMESTAMP FROM attendance WHERE id IN (:ids)";
+
+    private static final String COPY_LECTURES =
+            "INSERT INTO lectures_archive (id, class_id, series_id, title, description, date_time, video_link, " +
+            "pdf_url, created_at, archived_at) " +
+            "SELECT id, class_id, series_id, title, description, date_time, video_link, pdf_url, created_at, " +
+            "CURRENT_TIMESTAMP FROM lectures WHERE id IN (:ids)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final LectureCacheEvictor lectureCacheEvictor;
+
+    // Next archived classes (in id order) archived before the cutoff that still have hot lectures
+    public List<Long> findClassesToArchive(LocalDateTime cutoff, Long afterId, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT c.id FROM classes c " +
+                "WHERE c.status = 'ARCHIVED' AND c.archived_at < ? AND c.id > ? " +
+                "AND EXISTS (SELECT 1 FROM lectures l WHERE l.class_id = c.id) " +
+                "ORDER BY c.id LIMIT ?",
+                Long.class, Timestamp.valueOf(cutoff), afterId, limit);
+    }
+
+    // Returns the number of attendance rows moved; 0 once the class has none left
+    public int moveAttendance(Long classId, int chunkSize) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT a.id FROM attendance a JOIN lectures l ON l.id = a.lecture_id " +
+                "WHERE l.class_id = ? ORDER BY a.id LIMIT ?",
+                Long.class, classId, chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        namedJdbcTemplate.update(COPY_ATTENDANCE, Map.of("ids", ids));
+        namedJdbcTemplate.update("DELETE FROM attendance WHERE id IN (:ids)", Map.of("ids", ids));
+        return ids.size();
+    }
+
+    // Returns the number of lectures moved; lectures still referenced by attendance are left for the next run
+    public int moveLectures(Long classId, int chunkSize) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT l.id FROM lectures l WHERE l.class_id = ? " +
+                "AND NOT EXISTS (SELECT 1 FROM attendance a WHERE a.lecture_id = l.id) " +
+                "ORDER BY l.id LIMIT ?",
+                Long.class, classId, chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        namedJdbcTemplate.update(COPY_LECTURES, Map.of("ids", ids));
+        namedJdbcTemplate.update("DELETE FROM lectures WHERE id IN (:ids)", Map.of("ids", ids));
+        lectureCacheEvictor.evictAfterJdbcWrite(classId, ids);
+        return ids.size();
+    }
+}
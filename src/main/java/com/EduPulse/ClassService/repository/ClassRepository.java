@@ -1,16 +1,82 @@
 package com.EduPulse.ClassService.repository;
 
 import com.EduPulse.ClassService.model.ClassEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ClassRepository extends JpaRepository<ClassEntity, Long> {
+    // Query cache: ids are cached, the classes themselves come from the second-level cache.
+    // Only primary reads put results in; see ReplicaRoutingDataSource.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ClassEntity> findByLecturerId(Long lecturerId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ClassEntity> findByGradeId(Long gradeId);
 
     List<ClassEntity> findByStatus(ClassEntity.ClassStatus status);
 
     List<ClassEntity> findByGradeIdAndStatus(Long gradeId, ClassEntity.ClassStatus status);
-}
\ No newline at end of file
+
+    // Keyset page ordered by id; classes overlapping [from, to) when a range is given
+    @Query("SELECT c FROM ClassEntity c " +
+            "WHERE c.id > :afterId " +
+            "AND (:status IS NULL OR c.status = :status) " +
+            "AND (:from IS NULL OR c.endDate >= :from) " +
+            "AND (:to IS NULL OR c.startDate < :to) " +
+            "ORDER BY c.id")
+    Slice<ClassEntity> findPage(@Param("afterId") Long afterId,
+                                @Param("status") ClassEntity.ClassStatus status,
+                                @Param("from") LocalDate from,
+                                @Param("to") LocalDate to,
+                                Pageable pageable);
+
+    // Validators for conditional GETs; the lecture count is part of the class response
+    @Query("SELECT c.version AS version, c.updatedAt AS updatedAt, " +
+            "(SELECT COUNT(l) FROM Lecture l WHERE l.classEntity = c) AS lectureCount " +
+            "FROM ClassEntity c WHERE c.id = :classId")
+    Optional<ClassVersion> findVersionById(@Param("classId") Long classId);
+
+    // ========== Name snapshots ==========
+    @Query("SELECT c FROM ClassEntity c " +
+            "WHERE c.namesRefreshedAt IS NULL OR c.namesRefreshedAt < :cutoff " +
+            "ORDER BY c.id")
+    List<ClassEntity> findStaleNameSnapshots(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Query("SELECT MIN(c.namesRefreshedAt) FROM ClassEntity c")
+    LocalDateTime findOldestNameSnapshot();
+
+    // Not VERSIONED: confirming unchanged names must not move the ETag / Last-Modified
+    @Modifying
+    @Query("UPDATE ClassEntity c SET c.namesRefreshedAt = :refreshedAt WHERE c.id IN :classIds")
+    int markNamesRefreshed(@Param("classIds") Collection<Long> classIds,
+                           @Param("refreshedAt") LocalDateTime refreshedAt);
+
+    @Modifying
+    @Query("UPDATE ClassEntity c SET c.namesRefreshedAt = NULL WHERE c.gradeId = :gradeId")
+    int markGradeNamesStale(@Param("gradeId") Long gradeId);
+
+    @Modifying
+    @Query("UPDATE ClassEntity c SET c.namesRefreshedAt = NULL WHERE c.lecturerId = :lecturerId")
+    int markLecturerNamesStale(@Param("lecturerId") Long lecturerId);
+
+    interface ClassVersion {
+        Long getVersion();
+
+        LocalDateTime getUpdatedAt();
+
+        long getLectureCount();
+    }
+}
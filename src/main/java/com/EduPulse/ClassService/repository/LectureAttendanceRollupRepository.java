@@ -0,0 +1,7 @@
+package com.EduPulse.ClassService.repository;
+
+import com.EduPulse.ClassService.model.LectureAttendanceRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface LectureAttendanceRollupRepository extends JpaRepository<LectureAttendanceRollup, Long> {
+}
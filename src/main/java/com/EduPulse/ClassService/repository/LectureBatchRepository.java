@@ -0,0 +1,50 @@
+package com.EduPulse.ClassService.repository;
+
+import com.EduPulse.ClassService.model.Lecture;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Batched lecture inserts for generated series.
+ * <p>
+ * {@link Lecture} uses IDENTITY ids, so Hibernate would insert a series row by row;
+ * a JDBC batch becomes multi-row statements on MySQL ({@code rewriteBatchedStatements=true}).
+ * The rows bypass Hibernate, so the class's cached lectures collection and the query
+ * cache are evicted through {@link LectureCacheEvictor}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LectureBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT =
+            "INSERT INTO lectures (class_id, series_id, title, description, date_time, video_link, pdf_url, " +
+            "created_at, version, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LectureCacheEvictor lectureCacheEvictor;
+
+    public void insertAll(Long classId, List<Lecture> lectures) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT, lectures, BATCH_SIZE, (ps, lecture) -> {
+            ps.setLong(1, classId);
+            ps.setString(2, lecture.getSeriesId());
+            ps.setString(3, lecture.getTitle());
+            ps.setString(4, lecture.getDescription());
+            ps.setTimestamp(5, Timestamp.valueOf(lecture.getDateTime()));
+            ps.setString(6, lecture.getVideoLink());
+            ps.setString(7, lecture.getPdfUrl());
+            ps.setTimestamp(8, Timestamp.valueOf(lecture.getCreatedAt()));
+            ps.setTimestamp(9, now);
+        });
+
+        lectureCacheEvictor.evictAfterJdbcWrite(classId, List.of());
+    }
+}
@@ -0,0 +1,44 @@
+package com.EduPulse.ClassService.repository;
+
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.Lecture;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Second-level cache eviction for lecture rows written with plain JDBC, which Hibernate
+ * never sees. Evicts right away, so the rest of the transaction reads the new rows, and
+ * again after completion in case a concurrent read re-cached the old state meanwhile.
+ */
+@Component
+@RequiredArgsConstructor
+class LectureCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    void evictAfterJdbcWrite(Long classId, Collection<Long> lectureIds) {
+        evict(classId, lectureIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(classId, lectureIds);
+                }
+            });
+        }
+    }
+
+    private void evict(Long classId, Collection<Long> lectureIds) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictCollectionData(ClassEntity.class.getName() + ".lectures", classId);
+        lectureIds.forEach(lectureId -> cache.evictEntityData(Lecture.class, lectureId));
+        cache.evictQueryRegions();
+    }
+}
@@ -1,10 +1,157 @@
 package com.EduPulse.ClassService.repository;
 
 import com.EduPulse.ClassService.model.Lecture;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface LectureRepository extends JpaRepository<Lecture, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Lecture> findByClassEntityId(Long classId);
-}
\ No newline at end of file
+
+    long countByClassEntityId(Long classId);
+
+    // Just the LectureResponse columns; the class id is read from the foreign key, no join
+    @Query("SELECT l.id AS id, l.classEntity.id AS classId, l.title AS title, l.description AS description, " +
+            "l.dateTime AS dateTime, l.videoLink AS videoLink, l.pdfUrl AS pdfUrl, l.createdAt AS createdAt " +
+            "FROM Lecture l WHERE l.id = :lectureId")
+    Optional<LectureRow> findRowById(@Param("lectureId") Long lectureId);
+
+    @Query("SELECT l.id AS id, l.classEntity.id AS classId, l.title AS title, l.description AS description, " +
+            "l.dateTime AS dateTime, l.videoLink AS videoLink, l.pdfUrl AS pdfUrl, l.createdAt AS createdAt " +
+            "FROM Lecture l WHERE l.classEntity.id = :classId ORDER BY l.dateTime, l.id")
+    List<LectureRow> findRowsByClassId(@Param("classId") Long classId);
+
+    // ========== Lecture series ==========
+    @Query("SELECT l.id AS id, l.classEntity.id AS classId, l.title AS title, l.description AS description, " +
+            "l.dateTime AS dateTime, l.videoLink AS videoLink, l.pdfUrl AS pdfUrl, l.createdAt AS createdAt " +
+            "FROM Lecture l WHERE l.seriesId = :seriesId ORDER BY l.dateTime, l.id")
+    List<LectureRow> findRowsBySeriesId(@Param("seriesId") String seriesId);
+
+    List<Lecture> findByClassEntityIdAndSeriesIdOrderByDateTime(Long classId, String seriesId);
+
+    // ========== Validators for conditional GETs ==========
+    @Query("SELECT l.version AS version, l.updatedAt AS updatedAt FROM Lecture l WHERE l.id = :lectureId")
+    Optional<LectureVersion> findVersionById(@Param("lectureId") Long lectureId);
+
+    // Aggregate version of a class's lecture list: any insert, update or delete changes one of these
+    @Query("SELECT COUNT(l) AS lectureCount, MAX(l.id) AS maxId, COALESCE(SUM(l.version), 0) AS versionSum, " +
+            "MAX(l.updatedAt) AS updatedAt " +
+            "FROM Lecture l WHERE l.classEntity.id = :classId")
+    LectureListVersion findListVersionByClassId(@Param("classId") Long classId);
+
+    // Lecture and its class in one join, for the ownership checks on update / delete
+    @EntityGraph(attributePaths = "classEntity")
+    Optional<Lecture> findWithClassEntityById(Long lectureId);
+
+    // One query for a whole listing instead of initialising every lectures collection;
+    // archived classes keep counting the lectures ClassArchiver moved to lectures_archive
+    @Query("SELECT c.id AS classId, " +
+            "(SELECT COUNT(l) FROM Lecture l WHERE l.classEntity = c) " +
+            "+ (SELECT COUNT(a) FROM ArchivedLecture a WHERE a.classId = c.id) AS lectureCount " +
+            "FROM ClassEntity c WHERE c.id IN :classIds")
+    List<LectureCount> countByClassIds(@Param("classIds") Collection<Long> classIds);
+
+    // Keyset page ordered by (dateTime, id), starting after the given key
+    @Query("SELECT l FROM Lecture l " +
+            "WHERE l.classEntity.id = :classId " +
+            "AND (:afterDateTime IS NULL OR l.dateTime > :afterDateTime " +
+            "     OR (l.dateTime = :afterDateTime AND l.id > :afterId)) " +
+            "AND (:from IS NULL OR l.dateTime >= :from) " +
+            "AND (:to IS NULL OR l.dateTime < :to) " +
+            "ORDER BY l.dateTime, l.id")
+    Slice<Lecture> findPageByClassId(@Param("classId") Long classId,
+                                     @Param("afterDateTime") LocalDateTime afterDateTime,
+                                     @Param("afterId") Long afterId,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to,
+                                     Pageable pageable);
+
+    // ========== Timetable: lectures of many classes in [from, to) ==========
+    // classes by grade / lecturer index, then one range scan per class on (class_id, date_time)
+    String TIMETABLE = "SELECT l.id AS lectureId, c.id AS classId, c.name AS className, l.title AS title, " +
+            "l.dateTime AS dateTime, l.videoLink AS videoLink, c.lecturerId AS lecturerId, " +
+            "c.lecturerName AS lecturerName " +
+            "FROM Lecture l JOIN l.classEntity c " +
+            "WHERE c.status = com.EduPulse.ClassService.model.ClassEntity.ClassStatus.ACTIVE " +
+            "AND l.dateTime >= :from AND l.dateTime < :to ";
+
+    @Query(TIMETABLE + "AND c.gradeId = :gradeId ORDER BY l.dateTime, l.id")
+    List<TimetableRow> findTimetableByGradeId(@Param("gradeId") Long gradeId,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to);
+
+    @Query(TIMETABLE + "AND c.lecturerId = :lecturerId ORDER BY l.dateTime, l.id")
+    List<TimetableRow> findTimetableByLecturerId(@Param("lecturerId") Long lecturerId,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
+
+    interface LectureRow {
+        Long getId();
+
+        Long getClassId();
+
+        String getTitle();
+
+        String getDescription();
+
+        LocalDateTime getDateTime();
+
+        String getVideoLink();
+
+        String getPdfUrl();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    interface LectureVersion {
+        Long getVersion();
+
+        LocalDateTime getUpdatedAt();
+    }
+
+    interface LectureListVersion {
+        long getLectureCount();
+
+        Long getMaxId();
+
+        long getVersionSum();
+
+        LocalDateTime getUpdatedAt();
+    }
+
+    interface LectureCount {
+        Long getClassId();
+
+        long getLectureCount();
+    }
+
+    interface TimetableRow {
+        Long getLectureId();
+
+        Long getClassId();
+
+        String getClassName();
+
+        String getTitle();
+
+        LocalDateTime getDateTime();
+
+        String getVideoLink();
+
+        Long getLecturerId();
+
+        String getLecturerName();
+    }
+}
@@ -0,0 +1,55 @@
+package com.EduPulse.ClassService.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-level selects for sparse field sets ({@code fields=...}): only the requested
+ * attributes are read, no entities are loaded. Each tuple element carries its alias.
+ */
+@Repository
+public class ProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * @param columns alias -> attribute path (e.g. {@code "classId" -> "classEntity.id"}),
+     *                a foreign key path is read from the owning table without a join
+     * @param filters attribute path -> value, combined with AND
+     */
+    public List<Tuple> select(Class<?> entity, Map<String, String> columns, Map<String, Object> filters) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(entity);
+
+        List<Selection<?>> selections = columns.entrySet().stream()
+                .<Selection<?>>map(column -> path(root, column.getValue()).alias(column.getKey()))
+                .toList();
+        query.multiselect(selections)
+                .where(filters.entrySet().stream()
+                        .map(filter -> cb.equal(path(root, filter.getKey()), filter.getValue()))
+                        .toArray(Predicate[]::new))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private static Path<?> path(Root<?> root, String attribute) {
+        Path<?> path = root;
+        for (String part : attribute.split("\\.")) {
+            path = path.get(part);
+        }
+        return path;
+    }
+}
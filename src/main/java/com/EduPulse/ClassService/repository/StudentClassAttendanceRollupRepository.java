@@ -0,0 +1,10 @@
+package com.EduPulse.ClassService.repository;
+
+import com.EduPulse.ClassService.model.StudentClassAttendanceRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface StudentClassAttendanceRollupRepository extends JpaRepository<StudentClassAttendanceRollup, Long> {
+    Optional<StudentClassAttendanceRollup> findByStudentIdAndClassId(Long studentId, Long classId);
+}
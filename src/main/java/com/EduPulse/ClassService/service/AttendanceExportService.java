@@ -0,0 +1,100 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.dto.AttendanceExportRow;
+import com.EduPulse.ClassService.repository.AttendanceExportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Streams attendance exports for a class, grade or date range as CSV or NDJSON.
+ * Rows go straight from the JDBC cursor to the response, so memory use does not
+ * depend on how many rows are exported.
+ */
+@Service
+public class AttendanceExportService {
+
+    private static final String CSV_HEADER =
+            "attendance_id,student_id,lecture_id,lecture_title,lecture_date_time,class_id,class_name,status,check_in_time";
+
+    private final AttendanceExportRepository attendanceExportRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+
+    public AttendanceExportService(AttendanceExportRepository attendanceExportRepository,
+                                   ObjectMapper objectMapper,
+                                   @Value("${attendance.export.timeout:PT30M}") Duration timeout) {
+        this.attendanceExportRepository = attendanceExportRepository;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+    }
+
+    // Async timeout for a running export; large exports take far longer than a normal request
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public enum ExportFormat {
+        CSV, NDJSON
+    }
+
+    public StreamingResponseBody export(Long classId, Long gradeId, LocalDateTime from, LocalDateTime to,
+                                        boolean includeArchived, ExportFormat format) {
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+
+            try {
+                attendanceExportRepository.streamRows(classId, gradeId, from, to, includeArchived, row -> {
+                    try {
+                        writer.write(format == ExportFormat.CSV ? toCsv(row) : objectMapper.writeValueAsString(row));
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // Client went away mid-export; stop reading the cursor
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    private static String toCsv(AttendanceExportRow row) {
+        return String.join(",",
+                String.valueOf(row.attendanceId()),
+                String.valueOf(row.studentId()),
+                String.valueOf(row.lectureId()),
+                csv(row.lectureTitle()),
+                csv(row.lectureDateTime()),
+                String.valueOf(row.classId()),
+                csv(row.className()),
+                csv(row.status()),
+                csv(row.checkInTime()));
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,203 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.dto.AttendanceResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live attendance feed for lecturer dashboards over Server-Sent Events.
+ * <p>
+ * A new subscriber first gets a {@code snapshot} event with the lecture's attendance so far,
+ * then one {@code attendance} event per committed check-in (single, roster or write-behind).
+ * Deltas are built from what the writer already had in hand: each one is serialised once and
+ * handed to every subscriber of the lecture, without touching the database.
+ * <p>
+ * Every subscriber has a bounded buffer drained by its own virtual thread. A subscriber whose
+ * buffer is full is too slow to keep up and is disconnected; {@code EventSource} reconnects
+ * and starts over from a fresh snapshot.
+ */
+@Service
+public class AttendanceFeedHub implements DisposableBean {
+
+    private final ClassService classService;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final Duration timeout;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final Counter evicted;
+
+    public AttendanceFeedHub(ClassService classService,
+                             ObjectMapper objectMapper,
+                             @Value("${attendance.feed.buffer-size:256}") int bufferSize,
+                             @Value("${attendance.feed.timeout:PT30M}") Duration timeout,
+                             MeterRegistry meterRegistry) {
+        this.classService = classService;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+
+        this.evicted = Counter.builder("classservice.attendance.feed.evicted")
+                .description("Subscribers disconnected because they fell behind")
+                .register(meterRegistry);
+        Gauge.builder("classservice.attendance.feed.subscribers", this, AttendanceFeedHub::subscriberCount)
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long lectureId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(lectureId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        // Registered before the snapshot is read, so no check-in falls in between; deltas that
+        // arrive meanwhile wait behind the snapshot and at worst repeat a row it already has
+        subscribers.computeIfAbsent(lectureId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        List<AttendanceResponse> snapshot;
+        try {
+            snapshot = classService.getAttendanceForLecture(lectureId);
+        } catch (RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        }
+        subscriber.start(frame("snapshot", snapshot));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceMarked(AttendanceMarkedEvent event) {
+        Set<Subscriber> audience = subscribers.get(event.lectureId());
+        if (audience == null || audience.isEmpty()) {
+            return;
+        }
+
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = frame("attendance", event.attendances());
+        for (Subscriber subscriber : audience) {
+            subscriber.offer(frame);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.values().forEach(audience -> audience.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+
+    // Serialised once, shared by every subscriber
+    private Set<ResponseBodyEmitter.DataWithMediaType> frame(String name, List<AttendanceResponse> attendances) {
+        try {
+            return SseEmitter.event()
+                    .id(Long.toString(eventIds.incrementAndGet()))
+                    .name(name)
+                    .data(objectMapper.writeValueAsString(attendances), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.computeIfPresent(subscriber.lectureId, (id, audience) -> {
+            audience.remove(subscriber);
+            return audience.isEmpty() ? null : audience;
+        });
+    }
+
+    private void evict(Subscriber subscriber) {
+        if (!subscriber.closed) {
+            evicted.increment();
+            remove(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    private final class Subscriber {
+        private final Long lectureId;
+        private final SseEmitter emitter;
+        private final BlockingDeque<Set<ResponseBodyEmitter.DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean(true);  // held until the snapshot is queued
+        private volatile boolean closed;
+
+        private Subscriber(Long lectureId, SseEmitter emitter) {
+            this.lectureId = lectureId;
+            this.emitter = emitter;
+            this.buffer = new LinkedBlockingDeque<>(bufferSize);
+        }
+
+        void start(Set<ResponseBodyEmitter.DataWithMediaType> snapshot) {
+            if (!buffer.offerFirst(snapshot)) {
+                evict(this);
+                return;
+            }
+            draining.set(false);
+            schedule();
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offerLast(frame)) {
+                evict(this);
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!buffer.isEmpty() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                while (!closed && (frame = buffer.poll()) != null) {
+                    emitter.send(frame);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The dashboard went away or the emitter is already complete
+                remove(this);
+            } finally {
+                draining.set(false);
+            }
+            if (!closed) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,506 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.Attendance;
+import com.EduPulse.ClassService.model.Lecture;
+import com.EduPulse.ClassService.model.dto.AttendanceRequest;
+import com.EduPulse.ClassService.model.dto.AttendanceResponse;
+import com.EduPulse.ClassService.model.dto.UserResponse;
+import com.EduPulse.ClassService.repository.AttendanceBatchRepository;
+import com.EduPulse.ClassService.repository.LectureRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind path for check-in storms at lecture start.
+ * <p>
+ * {@link #submit} only parses the request and parks it in a bounded in-memory queue;
+ * repeated check-ins of the same (lecture, student) replace each other there. A single
+ * writer thread flushes the queue in batches, each one a single transaction built on
+ * the roster upsert. Validation happens at flush time: check-ins for unknown lectures
+ * or students are dropped and counted, those user-service failed to answer for are re-queued.
+ * <p>
+ * When the queue is full, {@link #submit} waits up to {@code attendance.ingest.offer-timeout}
+ * and then refuses, so callers can back off. Shutdown drains whatever is left. With
+ * {@code attendance.ingest.journal.enabled} every acknowledged check-in is also forced
+ * to a local {@link CheckInJournal} and replayed on the next start. The force happens
+ * outside the queue lock, and check-ins arriving together share one (group commit).
+ */
+@Service
+public class AttendanceIngestionService implements InitializingBean, DisposableBean {
+
+    private final LectureRepository lectureRepository;
+    private final AttendanceBatchRepository attendanceBatchRepository;
+    private final AttendanceRollupService attendanceRollupService;
+    private final UserLookupService userLookupService;
+    private final DeadlockRetry deadlockRetry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int capacity;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+    private final Duration shutdownTimeout;
+    private final Path journalPath;
+    private final long journalCompactBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition batchReady = lock.newCondition();
+    private final Map<Key, CheckIn> pending = new LinkedHashMap<>();
+    private final Object writeMonitor = new Object();   // one batch in flight, so later check-ins land last
+    private final ReentrantLock journalLock = new ReentrantLock();   // taken before lock, never while holding it
+    private final List<CheckIn> unjournaled = new ArrayList<>();     // guarded by lock
+    private long journalAppended;                                    // guarded by lock
+    private long journalForced;                                      // guarded by journalLock
+    private volatile boolean running;
+    private CheckInJournal journal;
+    private Thread writer;
+
+    private final Counter accepted;
+    private final Counter coalesced;
+    private final Counter rejected;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter journalCompactionFailures;
+
+    public AttendanceIngestionService(LectureRepository lectureRepository,
+                                      AttendanceBatchRepository attendanceBatchRepository,
+                                      AttendanceRollupService attendanceRollupService,
+                                      UserLookupService userLookupService,
+                                      DeadlockRetry deadlockRetry,
+                                      ApplicationEventPublisher eventPublisher,
+                                      @Value("${attendance.ingest.capacity:10000}") int capacity,
+                                      @Value("${attendance.ingest.batch-size:500}") int batchSize,
+                                      @Value("${attendance.ingest.max-attempts:10}") int maxAttempts,
+                                      @Value("${attendance.ingest.flush-interval:PT0.2S}") Duration flushInterval,
+                                      @Value("${attendance.ingest.offer-timeout:PT0.1S}") Duration offerTimeout,
+                                      @Value("${attendance.ingest.shutdown-timeout:PT30S}") Duration shutdownTimeout,
+                                      @Value("${attendance.ingest.journal.enabled:false}") boolean journalEnabled,
+                                      @Value("${attendance.ingest.journal.path:data/attendance-ingest.journal}") Path journalPath,
+                                      @Value("${attendance.ingest.journal.compact-size:8MB}") DataSize journalCompactSize,
+                                      MeterRegistry meterRegistry) {
+        this.lectureRepository = lectureRepository;
+        this.attendanceBatchRepository = attendanceBatchRepository;
+        this.attendanceRollupService = attendanceRollupService;
+        this.userLookupService = userLookupService;
+        this.deadlockRetry = deadlockRetry;
+        this.eventPublisher = eventPublisher;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.journalPath = journalEnabled ? journalPath : null;
+        this.journalCompactBytes = journalCompactSize.toBytes();
+
+        this.accepted = outcome(meterRegistry, "accepted");
+        this.coalesced = outcome(meterRegistry, "coalesced");
+        this.rejected = outcome(meterRegistry, "rejected");
+        this.written = outcome(meterRegistry, "written");
+        this.dropped = outcome(meterRegistry, "dropped");
+        this.journalCompactionFailures = Counter.builder("classservice.attendance.ingest.journal.compaction.failures")
+                .register(meterRegistry);
+        Gauge.builder("classservice.attendance.ingest.pending", this, AttendanceIngestionService::pendingCount)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        if (journalPath != null) {
+            journal = new CheckInJournal(journalPath);
+            List<CheckIn> replayed = journal.replay();
+            replayed.forEach(checkIn -> pending.put(checkIn.key(), checkIn));
+            journal.rewrite(pending.values());
+        }
+
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("attendance-ingest-writer")
+                .daemon(true)
+                .start(this::runWriter);
+    }
+
+    /**
+     * Acknowledges a check-in for later writing.
+     *
+     * @return {@code false} when the queue stayed full for the whole offer timeout
+     * (or the service is shutting down) - the check-in was not taken
+     */
+    public boolean submit(Long lectureId, AttendanceRequest request) {
+        CheckIn checkIn = new CheckIn(lectureId, request.getStudentId(),
+                Attendance.AttendanceStatus.valueOf(request.getStatus().toUpperCase()),
+                LocalDateTime.now(), 0);
+
+        long sequence = 0;
+        lock.lock();
+        try {
+            long remaining = offerTimeout.toNanos();
+            // A repeat check-in replaces its pending entry, so it never needs a free slot
+            while (running && !pending.containsKey(checkIn.key()) && pending.size() >= capacity) {
+                if (remaining <= 0) {
+                    break;
+                }
+                remaining = notFull.awaitNanos(remaining);
+            }
+            if (!running || (!pending.containsKey(checkIn.key()) && pending.size() >= capacity)) {
+                rejected.increment();
+                return false;
+            }
+
+            if (pending.put(checkIn.key(), checkIn) != null) {
+                coalesced.increment();
+            } else {
+                accepted.increment();
+            }
+            if (journal != null) {
+                unjournaled.add(checkIn);
+                sequence = ++journalAppended;
+            }
+            if (pending.size() >= batchSize) {
+                batchReady.signal();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+
+        if (journal != null) {
+            forceJournal(sequence);
+        }
+        return true;
+    }
+
+    /**
+     * Writes everything queued so far on the calling thread. Stops early if a batch
+     * could not be written at all; those check-ins stay queued.
+     */
+    public void flush() {
+        synchronized (writeMonitor) {
+            List<CheckIn> batch;
+            while (!(batch = takeBatch()).isEmpty()) {
+                if (!write(batch)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Stop accepting, let the writer drain the queue, then wait for it
+    @Override
+    public void destroy() throws Exception {
+        lock.lock();
+        try {
+            running = false;
+            batchReady.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        writer.join(shutdownTimeout.toMillis());
+        if (journal != null) {
+            journalLock.lock();
+            try {
+                journal.close();
+            } finally {
+                journalLock.unlock();
+            }
+        }
+    }
+
+    // ========== Writer ==========
+    private void runWriter() {
+        while (running) {
+            try {
+                awaitBatch();
+                synchronized (writeMonitor) {
+                    List<CheckIn> batch = takeBatch();
+                    if (!batch.isEmpty() && !write(batch)) {
+                        TimeUnit.NANOSECONDS.sleep(flushInterval.toNanos());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        flush();
+    }
+
+    // Lingers up to flushInterval so a storm is written in a few large batches
+    private void awaitBatch() throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = flushInterval.toNanos();
+            while (running && pending.size() < batchSize && remaining > 0) {
+                remaining = batchReady.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<CheckIn> takeBatch() {
+        lock.lock();
+        try {
+            List<CheckIn> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            Iterator<CheckIn> iterator = pending.values().iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+            notFull.signalAll();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores one batch in a single transaction. Check-ins of students user-service could not
+     * be asked about go back to the queue; only those of unknown students are dropped.
+     *
+     * @return {@code false} if check-ins were re-queued, so the writer backs off
+     */
+    private boolean write(List<CheckIn> batch) {
+        int storedRows;
+        List<CheckIn> unavailable;
+        try {
+            StudentBatchLoader.Batch students = userLookupService.lookupStudents(
+                    batch.stream().map(CheckIn::studentId).toList());
+            unavailable = batch.stream()
+                    .filter(checkIn -> students.failed().contains(checkIn.studentId()))
+                    .toList();
+            if (unavailable.size() == batch.size()) {
+                // user-service is unreachable - retry a few times
+                requeue(batch);
+                return false;
+            }
+
+            // Deadlock victims are re-run right away rather than costing the check-ins an attempt
+            Integer stored = deadlockRetry.execute(status -> store(batch, students.students()));
+            storedRows = stored != null ? stored : 0;
+        } catch (RuntimeException e) {
+            // Database or user-service trouble; the writer backs off and tries again
+            requeue(batch);
+            return false;
+        }
+
+        // Committed: from here on nothing may put the stored check-ins back in the queue
+        requeue(unavailable);
+        written.increment(storedRows);
+        dropped.increment(batch.size() - storedRows - unavailable.size());
+        compactJournal();
+        return unavailable.isEmpty();
+    }
+
+    private int store(List<CheckIn> batch, Map<Long, UserResponse> students) {
+        Map<Long, List<CheckIn>> byLecture = batch.stream()
+                .filter(checkIn -> students.containsKey(checkIn.studentId()))
+                .collect(Collectors.groupingBy(CheckIn::lectureId, LinkedHashMap::new, Collectors.toList()));
+        Map<Long, Lecture> lectures = lectureRepository.findAllById(byLecture.keySet()).stream()
+                .collect(Collectors.toMap(Lecture::getId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+
+        int stored = 0;
+        for (Map.Entry<Long, List<CheckIn>> entry : byLecture.entrySet()) {
+            Lecture lecture = lectures.get(entry.getKey());
+            if (lecture == null) {
+                continue;
+            }
+
+            List<Attendance> attendances = entry.getValue().stream()
+                    .map(checkIn -> Attendance.builder()
+                            .studentId(checkIn.studentId())
+                            .studentName(students.get(checkIn.studentId()).getFullName())
+                            .studentNameRefreshedAt(now)
+                            .lecture(lecture)
+                            .status(checkIn.status())
+                            .checkInTime(checkIn.acceptedAt())
+                            .build())
+                    .toList();
+
+            // Previous statuses (rows locked) for the rollup deltas
+            Map<Long, Attendance> existing = attendanceBatchRepository.findExistingForUpdate(lecture.getId(),
+                    attendances.stream().map(Attendance::getStudentId).toList());
+            attendanceBatchRepository.upsertAll(lecture.getId(), attendances);
+            attendanceRollupService.recordStatusChanges(attendances.stream()
+                    .map(attendance -> new AttendanceRollupService.StatusChange(
+                            attendance.getStudentId(), lecture.getClassEntity().getId(), lecture.getId(),
+                            existing.containsKey(attendance.getStudentId()) ? existing.get(attendance.getStudentId()).getStatus() : null,
+                            attendance.getStatus()))
+                    .toList());
+            // Row ids are not read back on this path; feed clients key rows by student
+            eventPublisher.publishEvent(new AttendanceMarkedEvent(lecture.getId(), attendances.stream()
+                    .map(attendance -> AttendanceResponse.builder()
+                            .studentId(attendance.getStudentId())
+                            .studentName(attendance.getStudentName())
+                            .lectureId(lecture.getId())
+                            .lectureTitle(lecture.getTitle())
+                            .status(attendance.getStatus().name())
+                            .checkInTime(attendance.getCheckInTime())
+                            .build())
+                    .toList()));
+            stored += attendances.size();
+        }
+        return stored;
+    }
+
+    // Newer check-ins that arrived meanwhile win over the re-queued ones
+    private void requeue(List<CheckIn> batch) {
+        lock.lock();
+        try {
+            for (CheckIn checkIn : batch) {
+                if (checkIn.attempts() + 1 >= maxAttempts) {
+                    dropped.increment();
+                } else {
+                    pending.putIfAbsent(checkIn.key(), checkIn.retried());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ========== Journal ==========
+    // Forces everything appended up to this check-in; whoever gets the journal lock first forces for all waiting
+    private void forceJournal(long sequence) {
+        journalLock.lock();
+        try {
+            if (journalForced >= sequence) {
+                return;
+            }
+
+            List<CheckIn> group;
+            long upTo;
+            lock.lock();
+            try {
+                group = new ArrayList<>(unjournaled);
+                unjournaled.clear();
+                upTo = journalAppended;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                journal.append(group);
+            } catch (IOException e) {
+                unforced(group);
+                throw new UncheckedIOException("Could not journal check-in", e);
+            }
+            journalForced = upTo;
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    // Everything written so far can leave the journal; only queued entries are kept.
+    // Called with no batch in flight, so the queue holds everything not yet stored.
+    private void compactJournal() {
+        if (journal == null) {
+            return;
+        }
+        journalLock.lock();
+        try {
+            boolean oversized = journal.size() > journalCompactBytes;
+
+            List<CheckIn> queued;
+            List<CheckIn> group;
+            long upTo;
+            lock.lock();
+            try {
+                if (!oversized && !pending.isEmpty()) {
+                    return;
+                }
+                queued = new ArrayList<>(pending.values());
+                // Not forced yet, but already part of the queue snapshot
+                group = new ArrayList<>(unjournaled);
+                unjournaled.clear();
+                upTo = journalAppended;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                journal.rewrite(queued);
+            } catch (IOException e) {
+                unforced(group);
+                throw e;
+            }
+            journalForced = upTo;
+        } catch (IOException e) {
+            // The old journal stays; replaying it only upserts stored rows again. Retried after the next batch.
+            journalCompactionFailures.increment();
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private void unforced(List<CheckIn> group) {
+        lock.lock();
+        try {
+            unjournaled.addAll(0, group);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("classservice.attendance.ingest")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    record Key(Long lectureId, Long studentId) {
+    }
+
+    record CheckIn(Long lectureId, Long studentId, Attendance.AttendanceStatus status,
+                   LocalDateTime acceptedAt, int attempts) {
+
+        Key key() {
+            return new Key(lectureId, studentId);
+        }
+
+        CheckIn retried() {
+            return new CheckIn(lectureId, studentId, status, acceptedAt, attempts + 1);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.dto.AttendanceResponse;
+
+import java.util.List;
+
+// Published inside the writing transaction; AttendanceFeedHub forwards it once that commits
+public record AttendanceMarkedEvent(Long lectureId, List<AttendanceResponse> attendances) {
+}
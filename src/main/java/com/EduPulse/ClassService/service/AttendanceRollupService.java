@@ -0,0 +1,123 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.Attendance;
+import com.EduPulse.ClassService.model.LectureAttendanceRollup;
+import com.EduPulse.ClassService.model.StudentClassAttendanceRollup;
+import com.EduPulse.ClassService.model.dto.AttendanceRateResponse;
+import com.EduPulse.ClassService.repository.AttendanceRollupWriter;
+import com.EduPulse.ClassService.repository.LectureAttendanceRollupRepository;
+import com.EduPulse.ClassService.repository.StudentClassAttendanceRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps PRESENT / LATE / ABSENT counts per (student, class) and per lecture so
+ * attendance rates are a single-row read instead of a full list on the client.
+ * <p>
+ * Writers report every status change inside their own transaction; the nightly
+ * rebuild reconciles the counts with the attendance table one class at a time,
+ * while check-ins keep arriving.
+ */
+@Service
+@RequiredArgsConstructor
+public class AttendanceRollupService {
+
+    private static final int CLASSES_PER_QUERY = 100;
+
+    private final AttendanceRollupWriter attendanceRollupWriter;
+    private final StudentClassAttendanceRollupRepository studentClassRollupRepository;
+    private final LectureAttendanceRollupRepository lectureRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * One attendance row moving from {@code previous} (null when newly created) to {@code current}.
+     */
+    public record StatusChange(Long studentId, Long classId, Long lectureId,
+                               Attendance.AttendanceStatus previous, Attendance.AttendanceStatus current) {
+    }
+
+    public void recordStatusChange(StatusChange change) {
+        recordStatusChanges(List.of(change));
+    }
+
+    public void recordStatusChanges(List<StatusChange> changes) {
+        List<AttendanceRollupWriter.Delta> deltas = changes.stream()
+                .filter(change -> change.previous() != change.current())
+                .map(change -> new AttendanceRollupWriter.Delta(
+                        change.studentId(), change.classId(), change.lectureId(),
+                        delta(change, Attendance.AttendanceStatus.PRESENT),
+                        delta(change, Attendance.AttendanceStatus.LATE),
+                        delta(change, Attendance.AttendanceStatus.ABSENT)))
+                .toList();
+        attendanceRollupWriter.apply(deltas);
+    }
+
+    // ========== O(1) reads ==========
+    public AttendanceRateResponse getStudentClassRate(Long studentId, Long classId) {
+        StudentClassAttendanceRollup rollup = studentClassRollupRepository
+                .findByStudentIdAndClassId(studentId, classId)
+                .orElseGet(() -> StudentClassAttendanceRollup.builder().build());
+
+        return toRate(rollup.getPresentCount(), rollup.getLateCount(), rollup.getAbsentCount())
+                .studentId(studentId)
+                .classId(classId)
+                .build();
+    }
+
+    public AttendanceRateResponse getLectureRate(Long lectureId) {
+        LectureAttendanceRollup rollup = lectureRollupRepository.findById(lectureId)
+                .orElseGet(() -> LectureAttendanceRollup.builder().build());
+
+        return toRate(rollup.getPresentCount(), rollup.getLateCount(), rollup.getAbsentCount())
+                .lectureId(lectureId)
+                .build();
+    }
+
+    // Counts of many lectures with one IN query; lectures without a row have no attendance yet
+    public Map<Long, LectureAttendanceRollup> getLectureRollups(Collection<Long> lectureIds) {
+        if (lectureIds.isEmpty()) {
+            return Map.of();
+        }
+        return lectureRollupRepository.findAllById(lectureIds).stream()
+                .collect(Collectors.toMap(LectureAttendanceRollup::getLectureId, Function.identity()));
+    }
+
+    // ========== Reconcile with the attendance table ==========
+    // One short transaction per class, so markings elsewhere only wait for the class being counted
+    @Scheduled(cron = "${attendance.rollup.rebuild-cron:0 30 3 * * *}")
+    public void rebuild() {
+        Long afterId = 0L;
+        while (true) {
+            List<Long> classIds = attendanceRollupWriter.findClassIds(afterId, CLASSES_PER_QUERY);
+            if (classIds.isEmpty()) {
+                break;
+            }
+            classIds.forEach(classId -> transactionTemplate.executeWithoutResult(
+                    status -> attendanceRollupWriter.rebuildClass(classId)));
+            afterId = classIds.get(classIds.size() - 1);
+        }
+        transactionTemplate.executeWithoutResult(status -> attendanceRollupWriter.deleteOrphans());
+    }
+
+    private static int delta(StatusChange change, Attendance.AttendanceStatus status) {
+        return (change.current() == status ? 1 : 0) - (change.previous() == status ? 1 : 0);
+    }
+
+    private static AttendanceRateResponse.AttendanceRateResponseBuilder toRate(long present, long late, long absent) {
+        long total = present + late + absent;
+        return AttendanceRateResponse.builder()
+                .presentCount(present)
+                .lateCount(late)
+                .absentCount(absent)
+                .totalCount(total)
+                .attendanceRate(total == 0 ? 0 : (double) (present + late) / total);
+    }
+}
@@ -0,0 +1,116 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.Attendance;
+import com.EduPulse.ClassService.service.AttendanceIngestionService.CheckIn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Append-only file of acknowledged check-ins, one line each, forced to disk before
+ * the client gets its 202. Once the writer has stored them the file is rewritten to
+ * just the entries still waiting, so it stays small.
+ */
+class CheckInJournal implements Closeable {
+
+    private final Path path;
+    private FileChannel channel;
+
+    CheckInJournal(Path path) throws IOException {
+        this.path = path;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = open(path);
+    }
+
+    /**
+     * Reads back every complete entry; a line torn by a crash mid-write is skipped.
+     */
+    List<CheckIn> replay() throws IOException {
+        List<CheckIn> checkIns = new ArrayList<>();
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\\|");
+            if (fields.length != 4) {
+                continue;
+            }
+            try {
+                checkIns.add(new CheckIn(
+                        Long.valueOf(fields[0]),
+                        Long.valueOf(fields[1]),
+                        Attendance.AttendanceStatus.valueOf(fields[2]),
+                        LocalDateTime.parse(fields[3]),
+                        0));
+            } catch (RuntimeException e) {
+                // torn or foreign line
+            }
+        }
+        return checkIns;
+    }
+
+    void append(CheckIn checkIn) throws IOException {
+        append(List.of(checkIn));
+    }
+
+    // One write and one force for the whole group
+    void append(Collection<CheckIn> checkIns) throws IOException {
+        StringBuilder content = new StringBuilder();
+        checkIns.forEach(checkIn -> content.append(encode(checkIn)));
+
+        ByteBuffer lines = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+        while (lines.hasRemaining()) {
+            channel.write(lines);
+        }
+        channel.force(false);
+    }
+
+    // Written to a temporary file first, so a crash leaves either the old or the new journal
+    void rewrite(Collection<CheckIn> checkIns) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        StringBuilder content = new StringBuilder();
+        checkIns.forEach(checkIn -> content.append(encode(checkIn)));
+
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer bytes = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                out.write(bytes);
+            }
+            out.force(true);
+        }
+
+        channel.close();
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = open(path);
+    }
+
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static String encode(CheckIn checkIn) {
+        return checkIn.lectureId() + "|" + checkIn.studentId() + "|" + checkIn.status().name() + "|"
+                + checkIn.acceptedAt() + "\n";
+    }
+}
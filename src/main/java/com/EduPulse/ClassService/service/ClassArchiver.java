@@ -0,0 +1,88 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.repository.ClassArchiveWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Moves the lectures and attendance of classes archived longer than {@code archive.after}
+ * out of the hot tables into {@code lectures_archive} / {@code attendance_archive}.
+ * <p>
+ * Every chunk of at most {@code archive.chunk-size} rows is its own short transaction, so
+ * the job never holds locks on the hot tables for long. Reads only see archived rows when
+ * they ask for them ({@code includeArchived}).
+ */
+@Service
+public class ClassArchiver {
+
+    private static final int CLASSES_PER_QUERY = 100;
+
+    private final ClassArchiveWriter classArchiveWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration archiveAfter;
+    private final int chunkSize;
+
+    private final Counter archivedAttendance;
+    private final Counter archivedLectures;
+
+    public ClassArchiver(ClassArchiveWriter classArchiveWriter,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${archive.after:P90D}") Duration archiveAfter,
+                         @Value("${archive.chunk-size:1000}") int chunkSize,
+                         MeterRegistry meterRegistry) {
+        this.classArchiveWriter = classArchiveWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.archiveAfter = archiveAfter;
+        this.chunkSize = chunkSize;
+
+        this.archivedAttendance = Counter.builder("classservice.archive.moved")
+                .tag("table", "attendance")
+                .register(meterRegistry);
+        this.archivedLectures = Counter.builder("classservice.archive.moved")
+                .tag("table", "lectures")
+                .register(meterRegistry);
+    }
+
+    // Walks the due classes once in id order; anything left behind is picked up by the next run
+    @Scheduled(cron = "${archive.cron:0 0 4 * * *}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(archiveAfter);
+        Long afterId = 0L;
+        while (true) {
+            List<Long> classIds = classArchiveWriter.findClassesToArchive(cutoff, afterId, CLASSES_PER_QUERY);
+            if (classIds.isEmpty()) {
+                return;
+            }
+            classIds.forEach(this::archiveClass);
+            afterId = classIds.get(classIds.size() - 1);
+        }
+    }
+
+    private void archiveClass(Long classId) {
+        // Attendance first: a lecture can only leave once nothing references it
+        int moved;
+        do {
+            moved = inTransaction(() -> classArchiveWriter.moveAttendance(classId, chunkSize));
+            archivedAttendance.increment(moved);
+        } while (moved > 0);
+
+        do {
+            moved = inTransaction(() -> classArchiveWriter.moveLectures(classId, chunkSize));
+            archivedLectures.increment(moved);
+        } while (moved > 0);
+    }
+
+    private int inTransaction(IntSupplier chunk) {
+        Integer moved = transactionTemplate.execute(status -> chunk.getAsInt());
+        return moved != null ? moved : 0;
+    }
+}
@@ -2,16 +2,41 @@ package com.EduPulse.ClassService.service;
 
 import com.EduPulse.ClassService.model.*;
 import com.EduPulse.ClassService.model.dto.*;
+import com.EduPulse.ClassService.repository.ArchivedAttendanceRepository;
+import com.EduPulse.ClassService.repository.ArchivedLectureRepository;
+import com.EduPulse.ClassService.repository.AttendanceBatchRepository;
 import com.EduPulse.ClassService.repository.AttendanceRepository;
 import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.repository.LectureBatchRepository;
 import com.EduPulse.ClassService.repository.LectureRepository;
+import com.EduPulse.ClassService.repository.ProjectionRepository;
+import jakarta.persistence.Tuple;
 import feign.FeignException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,14 +46,32 @@ public class ClassService {
     private final ClassRepository classRepository;
     private final LectureRepository lectureRepository;
     private final AttendanceRepository attendanceRepository;
-    private final UserServiceClient userServiceClient;  // Your Feign client
+    private final AttendanceBatchRepository attendanceBatchRepository;
+    private final UserLookupService userLookupService;  // Cached front for the Feign client
+    private final EnrichmentExecutor enrichmentExecutor;
+    private final AttendanceRollupService attendanceRollupService;
+    private final ApplicationEventPublisher eventPublisher;  // live attendance feed, after commit
+    private final ProjectionRepository projectionRepository;
+    private final LectureBatchRepository lectureBatchRepository;  // JDBC batch inserts for lecture series
+    private final ArchivedLectureRepository archivedLectureRepository;  // history of archived classes (includeArchived)
+    private final ArchivedAttendanceRepository archivedAttendanceRepository;
+    private final DeadlockRetry deadlockRetry;  // attendance writes run in its transactions
+
+    @Value("${pagination.max-page-size:200}")
+    private int maxPageSize;
+
+    @Value("${lecture-series.max-lectures:200}")
+    private int maxSeriesLectures;
+
+    @Value("${timetable.max-window:P31D}")
+    private Duration maxTimetableWindow;
 
     // ========== Create Class ==========
     public ClassResponse createClass(ClassRequest request, Long lecturerId) {
         // Validate & fetch lecturer data
         UserResponse lecturer;
         try {
-            lecturer = userServiceClient.validateLecturer(lecturerId);
+            lecturer = userLookupService.validateLecturer(lecturerId);
         } catch (FeignException e) {
             throw new RuntimeException("Invalid or unauthorized lecturer (ID: " + lecturerId + "): " + e.getMessage());
         }
@@ -36,7 +79,7 @@ public class ClassService {
         // Validate & fetch grade data
         GradeResponse grade;
         try {
-            grade = userServiceClient.validateGrade(request.getGradeId());
+            grade = userLookupService.validateGrade(request.getGradeId());
         } catch (FeignException e) {
             throw new RuntimeException("Grade not found (ID: " + request.getGradeId() + "): " + e.getMessage());
         }
@@ -47,6 +90,9 @@ public class ClassService {
                 .description(request.getDescription())
                 .gradeId(grade.getId())
                 .lecturerId(lecturer.getId())
+                .gradeName(grade.getName())               // snapshots, refreshed by NameSnapshotRefresher
+                .lecturerName(lecturer.getFullName())
+                .namesRefreshedAt(LocalDateTime.now())
                 .startDate(request.getStartDate())
                 .endDate(request.getEndDate())
                 .build();
@@ -69,6 +115,7 @@ public class ClassService {
     }
 
     // ========== Schedule Lecture ==========
+    @Transactional
     public LectureResponse scheduleLecture(Long classId, LectureRequest request) {
         ClassEntity classEntity = classRepository.findById(classId)
                 .orElseThrow(() -> new RuntimeException("Class not found (ID: " + classId + ")"));
@@ -84,9 +131,118 @@ public class ClassService {
 
         lecture = lectureRepository.save(lecture);
 
+        return lectureResponse(lecture, lecture.getClassEntity().getId());
+    }
+
+    // ========== Schedule a weekly lecture series ==========
+    // One class read and one batched insert for the whole term instead of a scheduleLecture call per week
+    @Transactional
+    public LectureSeriesResponse scheduleLectureSeries(Long classId, LectureSeriesRequest request, Long lecturerId) {
+        ClassEntity classEntity = ownedClass(classId, lecturerId);
+
+        String seriesId = UUID.randomUUID().toString();
+        LocalDateTime createdAt = LocalDateTime.now();
+        List<Lecture> lectures = seriesDates(classEntity, request).stream()
+                .map(dateTime -> Lecture.builder()
+                        .seriesId(seriesId)
+                        .title(request.getTitle())
+                        .description(request.getDescription())
+                        .dateTime(dateTime)
+                        .videoLink(request.getVideoLink())
+                        .pdfUrl(request.getPdfUrl())
+                        .createdAt(createdAt)
+                        .build())
+                .toList();
+
+        lectureBatchRepository.insertAll(classId, lectures);
+        return seriesResponse(classId, seriesId);
+    }
+
+    // ========== Shift a whole series (or the part from a given date) ==========
+    @Transactional
+    public LectureSeriesResponse shiftLectureSeries(Long classId, String seriesId, LectureSeriesShiftRequest request,
+                                                    Long lecturerId) {
+        ClassEntity classEntity = ownedClass(classId, lecturerId);
+
+        List<Lecture> lectures = lectureRepository.findByClassEntityIdAndSeriesIdOrderByDateTime(classId, seriesId);
+        if (lectures.isEmpty()) {
+            throw new RuntimeException("Lecture series not found (ID: " + seriesId + ")");
+        }
+
+        for (Lecture lecture : lectures) {
+            if (request.getFrom() != null && lecture.getDateTime().isBefore(request.getFrom())) {
+                continue;
+            }
+            LocalDateTime shifted = lecture.getDateTime().plus(request.getShiftBy());
+            if (shifted.toLocalDate().isBefore(classEntity.getStartDate())
+                    || shifted.toLocalDate().isAfter(classEntity.getEndDate())) {
+                throw new RuntimeException("Shifting lecture " + lecture.getId() + " to " + shifted
+                        + " moves it outside the class dates");
+            }
+            lecture.setDateTime(shifted);
+        }
+
+        // Dirty checking flushes the changes as batched, versioned UPDATEs (hibernate.jdbc.batch_size)
+        // and keeps the second-level cache in step
+        lectureRepository.flush();
+        return seriesResponse(classId, seriesId);
+    }
+
+    private ClassEntity ownedClass(Long classId, Long lecturerId) {
+        ClassEntity classEntity = classRepository.findById(classId)
+                .orElseThrow(() -> new RuntimeException("Class not found (ID: " + classId + ")"));
+
+        // 🔐 Ensure lecturer owns the class
+        if (!classEntity.getLecturerId().equals(lecturerId)) {
+            throw new RuntimeException("Unauthorized: You can only schedule lectures of your own classes");
+        }
+        return classEntity;
+    }
+
+    // Every dayOfWeek at time within the class dates (and until), skipping exclusions and past slots
+    private List<LocalDateTime> seriesDates(ClassEntity classEntity, LectureSeriesRequest request) {
+        int limit = request.getCount() != null ? request.getCount() : maxSeriesLectures;
+        if (limit > maxSeriesLectures) {
+            throw new RuntimeException("A lecture series may have at most " + maxSeriesLectures + " lectures");
+        }
+
+        LocalDate last = request.getUntil() != null && request.getUntil().isBefore(classEntity.getEndDate())
+                ? request.getUntil()
+                : classEntity.getEndDate();
+        Set<LocalDate> exclusions = request.getExclusions() != null ? Set.copyOf(request.getExclusions()) : Set.of();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<LocalDateTime> dates = new ArrayList<>();
+        for (LocalDate date = classEntity.getStartDate().with(TemporalAdjusters.nextOrSame(request.getDayOfWeek()));
+             !date.isAfter(last) && dates.size() < limit;
+             date = date.plusWeeks(1)) {
+            LocalDateTime dateTime = date.atTime(request.getTime());
+            if (!exclusions.contains(date) && dateTime.isAfter(now)) {
+                dates.add(dateTime);
+            }
+        }
+
+        if (dates.isEmpty()) {
+            throw new RuntimeException("The recurrence rule yields no lectures between "
+                    + classEntity.getStartDate() + " and " + last);
+        }
+        return dates;
+    }
+
+    private LectureSeriesResponse seriesResponse(Long classId, String seriesId) {
+        return LectureSeriesResponse.builder()
+                .seriesId(seriesId)
+                .classId(classId)
+                .lectures(lectureRepository.findRowsBySeriesId(seriesId).stream()
+                        .map(this::lectureResponse)
+                        .toList())
+                .build();
+    }
+
+    private LectureResponse lectureResponse(LectureRepository.LectureRow lecture) {
         return LectureResponse.builder()
                 .id(lecture.getId())
-                .classId(lecture.getClassEntity().getId())
+                .classId(lecture.getClassId())
                 .title(lecture.getTitle())
                 .description(lecture.getDescription())
                 .dateTime(lecture.getDateTime())
@@ -98,128 +254,280 @@ public class ClassService {
 
     // ========== Mark Attendance ==========
     public AttendanceResponse markAttendance(Long lectureId, AttendanceRequest request) {
+        return deadlockRetry.execute(status -> markAttendanceOnce(lectureId, request));
+    }
+
+    private AttendanceResponse markAttendanceOnce(Long lectureId, AttendanceRequest request) {
         Lecture lecture = lectureRepository.findById(lectureId)
                 .orElseThrow(() -> new RuntimeException("Lecture not found (ID: " + lectureId + ")"));
 
         // Validate & fetch student data
         UserResponse student;
         try {
-            student = userServiceClient.validateStudent(request.getStudentId());
+            student = userLookupService.validateStudent(request.getStudentId());
         } catch (FeignException e) {
             throw new RuntimeException("Student not found (ID: " + request.getStudentId() + "): " + e.getMessage());
         }
 
-        // Check if already marked
-        Optional<Attendance> existing = attendanceRepository.findByStudentIdAndLectureId(
-                request.getStudentId(), lectureId);
-
-        Attendance attendance = existing.orElseGet(() -> Attendance.builder()
+        Attendance attendance = Attendance.builder()
                 .studentId(request.getStudentId())
+                .studentName(student.getFullName())
+                .studentNameRefreshedAt(LocalDateTime.now())
                 .lecture(lecture)
-                .build());
+                .status(Attendance.AttendanceStatus.valueOf(request.getStatus().toUpperCase()))
+                .checkInTime(LocalDateTime.now())
+                .build();
 
-        attendance.setStatus(Attendance.AttendanceStatus.valueOf(request.getStatus().toUpperCase()));
-        attendance.setCheckInTime(LocalDateTime.now());
+        // Write first: a first check-in is a single insert; otherwise the row exists, so locking it takes no gap lock
+        Optional<Attendance> existing = Optional.empty();
+        Optional<Long> insertedId = attendanceBatchRepository.insertIfAbsent(lectureId, attendance);
+        if (insertedId.isPresent()) {
+            attendance.setId(insertedId.get());
+        } else {
+            existing = attendanceBatchRepository.findForUpdate(lectureId, attendance.getStudentId());
+            Attendance previous = existing.orElseThrow(
+                    () -> new RuntimeException("Attendance not found (lecture ID: " + lectureId + ")"));
+            attendance.setId(previous.getId());
+            attendanceBatchRepository.update(previous.getId(), attendance);
+        }
 
-        attendance = attendanceRepository.save(attendance);
+        // Keep the attendance-rate rollups in step (moves the count when the status changes)
+        attendanceRollupService.recordStatusChange(new AttendanceRollupService.StatusChange(
+                attendance.getStudentId(), lecture.getClassEntity().getId(), lectureId,
+                existing.map(Attendance::getStatus).orElse(null), attendance.getStatus()));
 
         // Build response with fetched student name
-        return AttendanceResponse.builder()
-                .id(attendance.getId())
-                .studentId(attendance.getStudentId())
-                .studentName(student.getFullName())  // ← fetched fresh from UserService
-                .lectureId(lecture.getId())
-                .lectureTitle(lecture.getTitle())
-                .status(attendance.getStatus().name())
-                .checkInTime(attendance.getCheckInTime())
-                .build();
+        AttendanceResponse response = attendanceResponse(attendance, student.getFullName(),
+                lecture.getId(), lecture.getTitle());
+        eventPublisher.publishEvent(new AttendanceMarkedEvent(lectureId, List.of(response)));
+        return response;
+    }
+
+    // ========== Mark Attendance for a whole roster ==========
+    public List<AttendanceResponse> markAttendanceBulk(Long lectureId, List<AttendanceRequest> requests) {
+        return deadlockRetry.execute(status -> markAttendanceBulkOnce(lectureId, requests));
+    }
+
+    private List<AttendanceResponse> markAttendanceBulkOnce(Long lectureId, List<AttendanceRequest> requests) {
+        Lecture lecture = lectureRepository.findById(lectureId)
+                .orElseThrow(() -> new RuntimeException("Lecture not found (ID: " + lectureId + ")"));
+
+        // Last entry wins if a student appears twice in the roster
+        Map<Long, Attendance.AttendanceStatus> statuses = new LinkedHashMap<>();
+        for (AttendanceRequest request : requests) {
+            statuses.put(request.getStudentId(), Attendance.AttendanceStatus.valueOf(request.getStatus().toUpperCase()));
+        }
+
+        // Validate & fetch all students in one pass; an outage throws instead of reading as unknown students
+        Map<Long, UserResponse> students = userLookupService.validateStudents(statuses.keySet());
+        List<Long> unknownStudents = statuses.keySet().stream()
+                .filter(studentId -> !students.containsKey(studentId))
+                .toList();
+        if (!unknownStudents.isEmpty()) {
+            throw new UnknownStudentsException(unknownStudents);
+        }
+
+        // Previous statuses (rows locked) for the rollup deltas, then one batched upsert for the whole roster
+        Map<Long, Attendance> existing = attendanceBatchRepository.findExistingForUpdate(lectureId, statuses.keySet());
+        LocalDateTime checkInTime = LocalDateTime.now();
+        List<Attendance> attendances = new ArrayList<>();
+        statuses.forEach((studentId, status) -> attendances.add(Attendance.builder()
+                .studentId(studentId)
+                .studentName(students.get(studentId).getFullName())
+                .studentNameRefreshedAt(checkInTime)
+                .lecture(lecture)
+                .status(status)
+                .checkInTime(checkInTime)
+                .build()));
+
+        attendanceBatchRepository.upsertAll(lectureId, attendances);
+        Long classId = lecture.getClassEntity().getId();
+        attendanceRollupService.recordStatusChanges(attendances.stream()
+                .map(attendance -> new AttendanceRollupService.StatusChange(
+                        attendance.getStudentId(), classId, lectureId,
+                        existing.containsKey(attendance.getStudentId()) ? existing.get(attendance.getStudentId()).getStatus() : null,
+                        attendance.getStatus()))
+                .toList());
+
+        // Only newly inserted rows need their ids read back
+        Map<Long, Long> ids = new HashMap<>();
+        existing.forEach((studentId, previous) -> ids.put(studentId, previous.getId()));
+        if (ids.size() < statuses.size()) {
+            ids.putAll(attendanceBatchRepository.findIdsByStudentId(lectureId, statuses.keySet().stream()
+                    .filter(studentId -> !existing.containsKey(studentId))
+                    .toList()));
+        }
+
+        List<AttendanceResponse> responses = statuses.entrySet().stream()
+                .map(entry -> AttendanceResponse.builder()
+                        .id(ids.get(entry.getKey()))
+                        .studentId(entry.getKey())
+                        .studentName(students.get(entry.getKey()).getFullName())
+                        .lectureId(lecture.getId())
+                        .lectureTitle(lecture.getTitle())
+                        .status(entry.getValue().name())
+                        .checkInTime(checkInTime)
+                        .build())
+                .collect(Collectors.toList());
+        eventPublisher.publishEvent(new AttendanceMarkedEvent(lectureId, responses));
+        return responses;
     }
 
     // In ClassService
+    @Transactional(readOnly = true)
     public ClassResponse getClassById(Long classId) {
         ClassEntity entity = classRepository.findById(classId)
                 .orElseThrow(() -> new RuntimeException("Class not found"));
 
-        GradeResponse grade = userServiceClient.validateGrade(entity.getGradeId());
-        UserResponse lecturer = userServiceClient.validateLecturer(entity.getLecturerId());
-
         return ClassResponse.builder()
                 .id(entity.getId())
                 .name(entity.getName())
                 .description(entity.getDescription())
-                .gradeId(grade.getId())
-                .gradeName(grade.getName())
-                .lecturerId(lecturer.getId())
-                .lecturerName(lecturer.getFullName())
+                .gradeId(entity.getGradeId())
+                .gradeName(gradeName(entity))
+                .lecturerId(entity.getLecturerId())
+                .lecturerName(lecturerName(entity))
                 .startDate(entity.getStartDate())
                 .endDate(entity.getEndDate())
                 .status(entity.getStatus())
-                .lectureCount(entity.getLectures().size())  // ← Real count from entity
+                .lectureCount(lectureCount(entity))  // ← COUNT query, no collection load
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public List<LectureResponse> getLecturesByClass(Long classId) {
+        return getLecturesByClass(classId, false);
+    }
+
+    // includeArchived appends the lectures already moved to lectures_archive, ordered by dateTime
+    @Transactional(readOnly = true)
+    public List<LectureResponse> getLecturesByClass(Long classId, boolean includeArchived) {
         ClassEntity classEntity = classRepository.findById(classId)
                 .orElseThrow(() -> new RuntimeException("Class not found"));
 
-        return classEntity.getLectures().stream()
-                .map(lecture -> LectureResponse.builder()
-                        .id(lecture.getId())
-                        .classId(classId)
-                        .title(lecture.getTitle())
-                        .description(lecture.getDescription())
-                        .dateTime(lecture.getDateTime())
-                        .videoLink(lecture.getVideoLink())
-                        .pdfUrl(lecture.getPdfUrl())
-                        .createdAt(lecture.getCreatedAt())
-                        .build())
+        List<LectureResponse> lectures = classEntity.getLectures().stream()
+                .map(lecture -> lectureResponse(lecture, classId))
                 .toList();
+        if (!includeArchived) {
+            return lectures;
+        }
+
+        List<LectureResponse> all = new ArrayList<>(lectures);
+        archivedLectureRepository.findRowsByClassId(classId).forEach(lecture -> all.add(lectureResponse(lecture)));
+        all.sort(Comparator.comparing(LectureResponse::getDateTime).thenComparing(LectureResponse::getId));
+        return all;
     }
 
 
     // In ClassService.java (add this method)
+    @Transactional(readOnly = true)
     public List<AttendanceResponse> getAttendanceForLecture(Long lectureId) {
+        return getAttendanceForLecture(lectureId, false);
+    }
+
+    // includeArchived also finds lectures that were moved to the archive tables, and merges the rows already
+    // moved to attendance_archive in id order: the archiver moves attendance in chunks before the lecture itself
+    @Transactional(readOnly = true)
+    public List<AttendanceResponse> getAttendanceForLecture(Long lectureId, boolean includeArchived) {
         // Find the lecture first
-        Lecture lecture = lectureRepository.findById(lectureId)
+        Optional<Lecture> hotLecture = lectureRepository.findById(lectureId);
+        if (hotLecture.isEmpty() && includeArchived) {
+            return getArchivedAttendanceForLecture(lectureId);
+        }
+        Lecture lecture = hotLecture
                 .orElseThrow(() -> new RuntimeException("Lecture not found (ID: " + lectureId + ")"));
 
         // Get all attendance records for this lecture
         List<Attendance> attendances = attendanceRepository.findByLectureId(lectureId);
 
-        // Convert to DTOs with fetched student names
-        return attendances.stream()
-                .map(attendance -> {
-                    // Fetch fresh student name via Feign (optional - or use denormalized if you have it)
-                    String studentName = "Unknown Student";
-                    try {
-                        UserResponse student = userServiceClient.validateStudent(attendance.getStudentId());
-                        studentName = student.getFullName();
-                    } catch (FeignException e) {
-                        // Log error if needed, fallback to unknown
-                    }
+        // Names come from the row snapshots; rows without one are resolved in a single batch
+        Function<Attendance, String> studentNames = studentNames(attendances);
 
-                    return AttendanceResponse.builder()
-                            .id(attendance.getId())
-                            .studentId(attendance.getStudentId())
-                            .studentName(studentName)
-                            .lectureId(lecture.getId())
-                            .lectureTitle(lecture.getTitle())
-                            .status(attendance.getStatus().name())
-                            .checkInTime(attendance.getCheckInTime())
-                            .build();
-                })
+        List<AttendanceResponse> responses = attendances.stream()
+                .map(attendance -> attendanceResponse(attendance, studentNames.apply(attendance),
+                        lecture.getId(), lecture.getTitle()))
+                .collect(Collectors.toList());
+        if (!includeArchived) {
+            return responses;
+        }
+
+        List<AttendanceResponse> archived = archivedAttendanceForLecture(lecture.getId(), lecture.getTitle());
+        if (!archived.isEmpty()) {
+            responses.addAll(archived);
+            responses.sort(Comparator.comparing(AttendanceResponse::getId));
+        }
+        return responses;
+    }
+
+
+    private List<AttendanceResponse> getArchivedAttendanceForLecture(Long lectureId) {
+        LectureRepository.LectureRow lecture = archivedLectureRepository.findRowById(lectureId)
+                .orElseThrow(() -> new RuntimeException("Lecture not found (ID: " + lectureId + ")"));
+        return archivedAttendanceForLecture(lecture.getId(), lecture.getTitle());
+    }
+
+    private List<AttendanceResponse> archivedAttendanceForLecture(Long lectureId, String lectureTitle) {
+        List<ArchivedAttendance> attendances = archivedAttendanceRepository.findByLectureIdOrderById(lectureId);
+        Function<ArchivedAttendance, String> studentNames = studentNames(attendances,
+                ArchivedAttendance::getStudentId, ArchivedAttendance::getStudentName);
+
+        return attendances.stream()
+                .map(attendance -> AttendanceResponse.builder()
+                        .id(attendance.getId())
+                        .studentId(attendance.getStudentId())
+                        .studentName(studentNames.apply(attendance))
+                        .lectureId(lectureId)
+                        .lectureTitle(lectureTitle)
+                        .status(attendance.getStatus().name())
+                        .checkInTime(attendance.getCheckInTime())
+                        .build())
                 .collect(Collectors.toList());
     }
 
+    // ========== Class page in one round trip ==========
+    // Three queries however many lectures: the class, its lecture rows and their attendance rollups.
+    // Grade and lecturer names come from the snapshots, else one lookup each.
+    @Transactional(readOnly = true)
+    public ClassDashboardResponse getClassDashboard(Long classId) {
+        ClassEntity classEntity = classRepository.findById(classId)
+                .orElseThrow(() -> new RuntimeException("Class not found (ID: " + classId + ")"));
+
+        List<LectureRepository.LectureRow> lectures = lectureRepository.findRowsByClassId(classId);
+        Map<Long, LectureAttendanceRollup> counts = attendanceRollupService.getLectureRollups(
+                lectures.stream().map(LectureRepository.LectureRow::getId).toList());
+        LectureAttendanceRollup none = LectureAttendanceRollup.builder().build();
+
+        return ClassDashboardResponse.builder()
+                .classInfo(buildClassResponse(classEntity, gradeName(classEntity), lecturerName(classEntity),
+                        lectures.size()))
+                .lectures(lectures.stream()
+                        .map(lecture -> {
+                            LectureAttendanceRollup rollup = counts.getOrDefault(lecture.getId(), none);
+                            return ClassDashboardResponse.LectureSummary.builder()
+                                    .id(lecture.getId())
+                                    .title(lecture.getTitle())
+                                    .description(lecture.getDescription())
+                                    .dateTime(lecture.getDateTime())
+                                    .videoLink(lecture.getVideoLink())
+                                    .pdfUrl(lecture.getPdfUrl())
+                                    .createdAt(lecture.getCreatedAt())
+                                    .presentCount(rollup.getPresentCount())
+                                    .lateCount(rollup.getLateCount())
+                                    .absentCount(rollup.getAbsentCount())
+                                    .build();
+                        })
+                        .toList())
+                .build();
+    }
 
     /**
      * Get all classes for a specific grade
      */
+    @Transactional(readOnly = true)
     public List<ClassResponse> getClassesByGrade(Long gradeId) {
-        // Validate grade exists
-        GradeResponse grade;
+        // Validate grade exists (the name is cached for the enrichment below)
         try {
-            grade = userServiceClient.validateGrade(gradeId);
+            userLookupService.validateGrade(gradeId);
         } catch (FeignException e) {
             throw new RuntimeException("Grade not found (ID: " + gradeId + "): " + e.getMessage());
         }
@@ -227,33 +535,8 @@ public class ClassService {
         // Find all classes for this grade
         List<ClassEntity> classes = classRepository.findByGradeId(gradeId);
 
-        // Convert to DTOs with fetched lecturer names
-        return classes.stream()
-                .map(classEntity -> {
-                    // Fetch lecturer name
-                    String lecturerName = "Unknown Lecturer";
-                    try {
-                        UserResponse lecturer = userServiceClient.validateLecturer(classEntity.getLecturerId());
-                        lecturerName = lecturer.getFullName();
-                    } catch (FeignException e) {
-                        // Log error if needed, fallback to unknown
-                    }
-
-                    return ClassResponse.builder()
-                            .id(classEntity.getId())
-                            .name(classEntity.getName())
-                            .description(classEntity.getDescription())
-                            .gradeId(grade.getId())
-                            .gradeName(grade.getName())
-                            .lecturerId(classEntity.getLecturerId())
-                            .lecturerName(lecturerName)
-                            .startDate(classEntity.getStartDate())
-                            .endDate(classEntity.getEndDate())
-                            .status(classEntity.getStatus())
-                            .lectureCount(classEntity.getLectures() != null ? classEntity.getLectures().size() : 0)
-                            .build();
-                })
-                .collect(Collectors.toList());
+        // Convert to DTOs, fetching lecturer names concurrently
+        return buildClassResponses(classes);
     }
 
 
@@ -262,11 +545,11 @@ public class ClassService {
     /**
      * Get all classes taught by a specific lecturer
      */
+    @Transactional(readOnly = true)
     public List<ClassResponse> getClassesByLecturer(Long lecturerId) {
-        // Validate lecturer exists
-        UserResponse lecturer;
+        // Validate lecturer exists (the name is cached for the enrichment below)
         try {
-            lecturer = userServiceClient.validateLecturer(lecturerId);
+            userLookupService.validateLecturer(lecturerId);
         } catch (FeignException e) {
             throw new RuntimeException("Lecturer not found (ID: " + lecturerId + "): " + e.getMessage());
         }
@@ -274,52 +557,136 @@ public class ClassService {
         // Find all classes for this lecturer
         List<ClassEntity> classes = classRepository.findByLecturerId(lecturerId);
 
-        // Convert to DTOs with fetched grade names
-        return classes.stream()
-                .map(classEntity -> {
-                    // Fetch grade name
-                    String gradeName = "Unknown Grade";
-                    try {
-                        GradeResponse grade = userServiceClient.validateGrade(classEntity.getGradeId());
-                        gradeName = grade.getName();
-                    } catch (FeignException e) {
-                        // Log error if needed, fallback to unknown
-                    }
-
-                    return ClassResponse.builder()
-                            .id(classEntity.getId())
-                            .name(classEntity.getName())
-                            .description(classEntity.getDescription())
-                            .gradeId(classEntity.getGradeId())
-                            .gradeName(gradeName)
-                            .lecturerId(lecturer.getId())
-                            .lecturerName(lecturer.getFullName())
-                            .startDate(classEntity.getStartDate())
-                            .endDate(classEntity.getEndDate())
-                            .status(classEntity.getStatus())
-                            .lectureCount(classEntity.getLectures() != null ? classEntity.getLectures().size() : 0)
-                            .build();
-                })
-                .collect(Collectors.toList());
+        // Convert to DTOs, fetching grade names concurrently
+        return buildClassResponses(classes);
     }
 
     // ========== Get all classes ==========
+    @Transactional(readOnly = true)
     public List<ClassResponse> getAllClasses() {
         List<ClassEntity> classes = classRepository.findAll();
 
-        return classes.stream()
-                .map(classEntity -> buildClassResponse(classEntity))
-                .collect(Collectors.toList());
+        return buildClassResponses(classes);
+    }
+
+    // ========== Sparse field sets (fields=id,name,status) ==========
+    // Only the requested columns are selected; names and lecture counts are only looked up when asked for
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllClasses(Set<String> fields) {
+        return sparseClasses(fields, Map.of());
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getClassesByGrade(Long gradeId, Set<String> fields) {
+        try {
+            userLookupService.validateGrade(gradeId);
+        } catch (FeignException e) {
+            throw new RuntimeException("Grade not found (ID: " + gradeId + "): " + e.getMessage());
+        }
+        return sparseClasses(fields, Map.of("gradeId", gradeId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getClassesByLecturer(Long lecturerId, Set<String> fields) {
+        try {
+            userLookupService.validateLecturer(lecturerId);
+        } catch (FeignException e) {
+            throw new RuntimeException("Lecturer not found (ID: " + lecturerId + "): " + e.getMessage());
+        }
+        return sparseClasses(fields, Map.of("lecturerId", lecturerId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getLecturesByClass(Long classId, Set<String> fields) {
+        return getLecturesByClass(classId, fields, false);
+    }
+
+    // includeArchived reads the same columns from lectures_archive, merged in dateTime order like the full listing
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getLecturesByClass(Long classId, Set<String> fields, boolean includeArchived) {
+        if (!classRepository.existsById(classId)) {
+            throw new RuntimeException("Class not found");
+        }
+
+        Map<String, String> columns = new LinkedHashMap<>();
+        fields.forEach(field -> columns.put(field, field.equals("classId") ? "classEntity.id" : field));
+        List<Tuple> rows;
+        if (!includeArchived) {
+            rows = projectionRepository.select(Lecture.class, columns, Map.of("classEntity.id", classId));
+        } else {
+            columns.putIfAbsent("dateTime", "dateTime");   // needed to order the merged rows
+            Map<String, String> archivedColumns = new LinkedHashMap<>();
+            columns.keySet().forEach(field -> archivedColumns.put(field, field));
+
+            rows = new ArrayList<>(projectionRepository.select(Lecture.class, columns, Map.of("classEntity.id", classId)));
+            rows.addAll(projectionRepository.select(ArchivedLecture.class, archivedColumns, Map.of("classId", classId)));
+            rows.sort(Comparator.comparing((Tuple row) -> row.get("dateTime", LocalDateTime.class))
+                    .thenComparing(row -> row.get("id", Long.class)));
+        }
+        return rows.stream()
+                .map(row -> {
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    fields.forEach(field -> item.put(field, row.get(field)));
+                    return item;
+                })
+                .toList();
+    }
+
+    private List<Map<String, Object>> sparseClasses(Set<String> fields, Map<String, Object> filters) {
+        // Derived fields read their snapshot column (and the id to fall back on); lectureCount needs only the id
+        Map<String, String> columns = new LinkedHashMap<>();
+        for (String field : fields) {
+            switch (field) {
+                case "gradeName" -> {
+                    columns.put("gradeId", "gradeId");
+                    columns.put("gradeNameSnapshot", "gradeName");
+                }
+                case "lecturerName" -> {
+                    columns.put("lecturerId", "lecturerId");
+                    columns.put("lecturerNameSnapshot", "lecturerName");
+                }
+                case "lectureCount" -> {
+                }
+                default -> columns.put(field, field);
+            }
+        }
+        List<Tuple> rows = projectionRepository.select(ClassEntity.class, columns, filters);
+
+        Map<Long, Integer> lectureCounts = fields.contains("lectureCount")
+                ? lectureCounts(rows.stream().map(row -> row.get("id", Long.class)).toList())
+                : Map.of();
+        Map<Long, String> gradeNames = new HashMap<>();
+        Map<Long, String> lecturerNames = new HashMap<>();
+
+        return rows.stream()
+                .map(row -> {
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    for (String field : fields) {
+                        item.put(field, switch (field) {
+                            case "gradeName" -> row.get("gradeNameSnapshot") != null
+                                    ? row.get("gradeNameSnapshot")
+                                    : gradeNames.computeIfAbsent(row.get("gradeId", Long.class), this::gradeName);
+                            case "lecturerName" -> row.get("lecturerNameSnapshot") != null
+                                    ? row.get("lecturerNameSnapshot")
+                                    : lecturerNames.computeIfAbsent(row.get("lecturerId", Long.class), this::lecturerName);
+                            case "lectureCount" -> lectureCounts.getOrDefault(row.get("id", Long.class), 0);
+                            default -> row.get(field);
+                        });
+                    }
+                    return item;
+                })
+                .toList();
     }
 
     // ========== Get a single lecture by ID ==========
+    @Transactional(readOnly = true)
     public LectureResponse getLectureById(Long lectureId) {
-        Lecture lecture = lectureRepository.findById(lectureId)
+        LectureRepository.LectureRow lecture = lectureRepository.findRowById(lectureId)
                 .orElseThrow(() -> new RuntimeException("Lecture not found (ID: " + lectureId + ")"));
 
         return LectureResponse.builder()
                 .id(lecture.getId())
-                .classId(lecture.getClassEntity().getId())
+                .classId(lecture.getClassId())
                 .title(lecture.getTitle())
                 .description(lecture.getDescription())
                 .dateTime(lecture.getDateTime())
@@ -330,6 +697,7 @@ public class ClassService {
     }
 
     // ========== Update class details ==========
+    @Transactional
     public ClassResponse updateClass(Long classId, ClassRequest request, Long lecturerId) {
         ClassEntity classEntity = classRepository.findById(classId)
                 .orElseThrow(() -> new RuntimeException("Class not found (ID: " + classId + ")"));
@@ -339,14 +707,22 @@ public class ClassService {
             throw new RuntimeException("Unauthorized: You can only update your own classes");
         }
 
-        // Validate grade if changed
-        if (!classEntity.getGradeId().equals(request.getGradeId())) {
-            try {
-                userServiceClient.validateGrade(request.getGradeId());
-            } catch (FeignException e) {
-                throw new RuntimeException("Grade not found (ID: " + request.getGradeId() + "): " + e.getMessage());
-            }
+        // Validate the grade and re-take both name snapshots, so an edit never leaves them stale
+        GradeResponse grade;
+        try {
+            grade = userLookupService.validateGrade(request.getGradeId());
+        } catch (FeignException e) {
+            throw new RuntimeException("Grade not found (ID: " + request.getGradeId() + "): " + e.getMessage());
         }
+        UserResponse lecturer;
+        try {
+            lecturer = userLookupService.validateLecturer(lecturerId);
+        } catch (FeignException e) {
+            throw new RuntimeException("Invalid or unauthorized lecturer (ID: " + lecturerId + "): " + e.getMessage());
+        }
+        classEntity.setGradeName(grade.getName());
+        classEntity.setLecturerName(lecturer.getFullName());
+        classEntity.setNamesRefreshedAt(LocalDateTime.now());
 
         // Update fields
         classEntity.setName(request.getName());
@@ -361,12 +737,17 @@ public class ClassService {
     }
 
     // ========== Delete/Archive a class ==========
+    @Transactional
     public void deleteClass(Long classId) {
         ClassEntity classEntity = classRepository.findById(classId)
                 .orElseThrow(() -> new RuntimeException("Class not found (ID: " + classId + ")"));
 
         // Option 1: Soft delete (archive) - set status to ARCHIVED
-        classEntity.setStatus(ClassEntity.ClassStatus.ARCHIVED);
+        // ClassArchiver moves its lectures and attendance out of the hot tables once archive.after has passed
+        if (classEntity.getStatus() != ClassEntity.ClassStatus.ARCHIVED) {
+            classEntity.setStatus(ClassEntity.ClassStatus.ARCHIVED);
+            classEntity.setArchivedAt(LocalDateTime.now());
+        }
         classRepository.save(classEntity);
 
         // Option 2: Hard delete (uncomment if you prefer)
@@ -374,55 +755,300 @@ public class ClassService {
     }
 
     // ========== Get attendance for a specific student ==========
+    @Transactional(readOnly = true)
     public List<AttendanceResponse> getAttendanceForStudent(Long studentId) {
-        // Validate student exists
-        UserResponse student;
-        try {
-            student = userServiceClient.validateStudent(studentId);
-        } catch (FeignException e) {
-            throw new RuntimeException("Student not found (ID: " + studentId + "): " + e.getMessage());
+        return getAttendanceForStudent(studentId, false);
+    }
+
+    // includeArchived unions the rows already moved to attendance_archive, in id order
+    @Transactional(readOnly = true)
+    public List<AttendanceResponse> getAttendanceForStudent(Long studentId, boolean includeArchived) {
+        // Get all attendance records for this student, lecture title included (one query)
+        List<AttendanceRepository.AttendanceRow> rows = attendanceRepository.findRowsByStudentId(studentId);
+        if (includeArchived) {
+            List<AttendanceRepository.AttendanceRow> archived = archivedAttendanceRepository.findRowsByStudentId(studentId);
+            if (!archived.isEmpty()) {
+                rows = new ArrayList<>(rows);
+                rows.addAll(archived);
+                rows.sort(Comparator.comparing(AttendanceRepository.AttendanceRow::getId));
+            }
         }
 
-        // Get all attendance records for this student
-        List<Attendance> attendances = attendanceRepository.findByStudentId(studentId);
+        // The rows' name snapshot also proves the student exists; otherwise ask user-service
+        String studentName = studentName(studentId, rows,
+                AttendanceRepository.AttendanceRow::getStudentName,
+                AttendanceRepository.AttendanceRow::getStudentNameRefreshedAt);
 
         // Convert to DTOs
-        return attendances.stream()
-                .map(attendance -> {
-                    Lecture lecture = attendance.getLecture();
-                    return AttendanceResponse.builder()
-                            .id(attendance.getId())
-                            .studentId(attendance.getStudentId())
-                            .studentName(student.getFullName())
-                            .lectureId(lecture.getId())
-                            .lectureTitle(lecture.getTitle())
-                            .status(attendance.getStatus().name())
-                            .checkInTime(attendance.getCheckInTime())
-                            .build();
-                })
+        return rows.stream()
+                .map(row -> AttendanceResponse.builder()
+                        .id(row.getId())
+                        .studentId(row.getStudentId())
+                        .studentName(studentName)
+                        .lectureId(row.getLectureId())
+                        .lectureTitle(row.getLectureTitle())
+                        .status(row.getStatus().name())
+                        .checkInTime(row.getCheckInTime())
+                        .build())
                 .collect(Collectors.toList());
     }
 
-    // ========== Helper method to build ClassResponse ==========
-    private ClassResponse buildClassResponse(ClassEntity classEntity) {
-        // Fetch grade name
-        String gradeName = "Unknown Grade";
+    // ========== Versions for conditional GETs (checked before any enrichment) ==========
+    @Transactional(readOnly = true)
+    public ResourceVersion getClassVersion(Long classId) {
+        ClassRepository.ClassVersion version = classRepository.findVersionById(classId)
+                .orElseThrow(() -> new RuntimeException("Class not found"));
+
+        return new ResourceVersion(
+                "\"class-" + classId + "-" + version.getVersion() + "-" + version.getLectureCount() + "\"",
+                epochMillis(version.getUpdatedAt()));
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getLectureVersion(Long lectureId) {
+        LectureRepository.LectureVersion version = lectureRepository.findVersionById(lectureId)
+                .orElseThrow(() -> new RuntimeException("Lecture not found (ID: " + lectureId + ")"));
+
+        return new ResourceVersion(
+                "\"lecture-" + lectureId + "-" + version.getVersion() + "\"",
+                epochMillis(version.getUpdatedAt()));
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getLectureListVersion(Long classId) {
+        LectureRepository.LectureListVersion version = lectureRepository.findListVersionByClassId(classId);
+
+        return new ResourceVersion(
+                "\"lectures-" + classId + "-" + version.getLectureCount() + "-" + version.getMaxId()
+                        + "-" + version.getVersionSum() + "\"",
+                epochMillis(version.getUpdatedAt()));
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+
+    // ========== Timetables over [from, to) ==========
+    @Transactional(readOnly = true)
+    public List<TimetableEntry> getTimetableForGrade(Long gradeId, LocalDateTime from, LocalDateTime to) {
+        checkTimetableWindow(from, to);
+        return toTimetable(lectureRepository.findTimetableByGradeId(gradeId, from, to));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TimetableEntry> getTimetableForLecturer(Long lecturerId, LocalDateTime from, LocalDateTime to) {
+        checkTimetableWindow(from, to);
+        return toTimetable(lectureRepository.findTimetableByLecturerId(lecturerId, from, to));
+    }
+
+    // A student's classes are those of their grade. Not transactional: no connection is held
+    // across the user-service lookup, the query runs read-only on its own.
+    public List<TimetableEntry> getTimetableForStudent(Long studentId, LocalDateTime from, LocalDateTime to) {
+        checkTimetableWindow(from, to);
+        Long gradeId;
         try {
-            GradeResponse grade = userServiceClient.validateGrade(classEntity.getGradeId());
-            gradeName = grade.getName();
+            gradeId = userLookupService.validateStudent(studentId).getGradeId();
         } catch (FeignException e) {
-            // Log error if needed
+            throw new RuntimeException("Student not found (ID: " + studentId + ")");
         }
+        if (gradeId == null) {
+            return List.of();
+        }
+        return toTimetable(lectureRepository.findTimetableByGradeId(gradeId, from, to));
+    }
 
-        // Fetch lecturer name
-        String lecturerName = "Unknown Lecturer";
-        try {
-            UserResponse lecturer = userServiceClient.validateLecturer(classEntity.getLecturerId());
-            lecturerName = lecturer.getFullName();
-        } catch (FeignException e) {
-            // Log error if needed
+    private void checkTimetableWindow(LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new RuntimeException("Invalid timetable window: 'to' must be after 'from'");
+        }
+        if (Duration.between(from, to).compareTo(maxTimetableWindow) > 0) {
+            throw new RuntimeException("Timetable window too long (max " + maxTimetableWindow.toDays() + " days)");
         }
+    }
+
+    // Lecturer names from the class snapshots; legacy classes without one resolve once per lecturer
+    private List<TimetableEntry> toTimetable(List<LectureRepository.TimetableRow> rows) {
+        Map<Long, String> lecturerNames = new HashMap<>();
+        return rows.stream()
+                .map(row -> TimetableEntry.builder()
+                        .lectureId(row.getLectureId())
+                        .classId(row.getClassId())
+                        .className(row.getClassName())
+                        .title(row.getTitle())
+                        .dateTime(row.getDateTime())
+                        .videoLink(row.getVideoLink())
+                        .lecturerId(row.getLecturerId())
+                        .lecturerName(row.getLecturerName() != null
+                                ? row.getLecturerName()
+                                : lecturerNames.computeIfAbsent(row.getLecturerId(), this::lecturerName))
+                        .build())
+                .toList();
+    }
 
+    // ========== Paged listings (keyset on id / dateTime) ==========
+    @Transactional(readOnly = true)
+    public CursorPage<ClassResponse> getClassesPage(String cursor, int limit, ClassEntity.ClassStatus status,
+                                                    LocalDate from, LocalDate to) {
+        Long afterId = cursor != null ? Long.valueOf(CursorPage.decodeCursor(cursor)[0]) : 0L;
+
+        Slice<ClassEntity> slice = classRepository.findPage(afterId, status, from, to, pageOf(limit));
+        List<ClassEntity> classes = slice.getContent();
+
+        String nextCursor = slice.hasNext()
+                ? CursorPage.encodeCursor(classes.get(classes.size() - 1).getId())
+                : null;
+        return CursorPage.<ClassResponse>builder()
+                .items(buildClassResponses(classes))
+                .nextCursor(nextCursor)
+                .hasMore(slice.hasNext())
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<LectureResponse> getLecturesPage(Long classId, String cursor, int limit,
+                                                       LocalDateTime from, LocalDateTime to) {
+        LocalDateTime afterDateTime = null;
+        Long afterId = 0L;
+        if (cursor != null) {
+            String[] keys = CursorPage.decodeCursor(cursor);
+            afterDateTime = LocalDateTime.parse(keys[0]);
+            afterId = Long.valueOf(keys[1]);
+        }
+
+        Slice<Lecture> slice = lectureRepository.findPageByClassId(
+                classId, afterDateTime, afterId, from, to, pageOf(limit));
+        List<Lecture> lectures = slice.getContent();
+
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            Lecture last = lectures.get(lectures.size() - 1);
+            nextCursor = CursorPage.encodeCursor(last.getDateTime(), last.getId());
+        }
+        return CursorPage.<LectureResponse>builder()
+                .items(lectures.stream()
+                        .map(lecture -> lectureResponse(lecture, classId))
+                        .toList())
+                .nextCursor(nextCursor)
+                .hasMore(slice.hasNext())
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<AttendanceResponse> getAttendanceForStudentPage(Long studentId, String cursor, int limit,
+                                                                      Attendance.AttendanceStatus status, Long classId,
+                                                                      LocalDateTime from, LocalDateTime to) {
+        Long afterId = cursor != null ? Long.valueOf(CursorPage.decodeCursor(cursor)[0]) : 0L;
+        Slice<Attendance> slice = attendanceRepository.findPageByStudentId(
+                studentId, afterId, status, classId, from, to, pageOf(limit));
+
+        String studentName = studentName(studentId, slice.getContent(),
+                Attendance::getStudentName, Attendance::getStudentNameRefreshedAt);
+        return toAttendancePage(slice, attendance -> studentName);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<AttendanceResponse> getAttendanceForLecturePage(Long lectureId, String cursor, int limit,
+                                                                      Attendance.AttendanceStatus status) {
+        Lecture lecture = lectureRepository.findById(lectureId)
+                .orElseThrow(() -> new RuntimeException("Lecture not found (ID: " + lectureId + ")"));
+
+        Long afterId = cursor != null ? Long.valueOf(CursorPage.decodeCursor(cursor)[0]) : 0L;
+        Slice<Attendance> slice = attendanceRepository.findPageByLectureId(lectureId, afterId, status, pageOf(limit));
+
+        return toAttendancePage(slice, studentNames(slice.getContent()));
+    }
+
+    private CursorPage<AttendanceResponse> toAttendancePage(Slice<Attendance> slice,
+                                                            Function<Attendance, String> studentName) {
+        List<Attendance> attendances = slice.getContent();
+        String nextCursor = slice.hasNext()
+                ? CursorPage.encodeCursor(attendances.get(attendances.size() - 1).getId())
+                : null;
+
+        return CursorPage.<AttendanceResponse>builder()
+                .items(attendances.stream()
+                        .map(attendance -> attendanceResponse(attendance, studentName.apply(attendance),
+                                attendance.getLecture().getId(), attendance.getLecture().getTitle()))
+                        .toList())
+                .nextCursor(nextCursor)
+                .hasMore(slice.hasNext())
+                .build();
+    }
+
+    private Pageable pageOf(int limit) {
+        return PageRequest.of(0, Math.max(1, Math.min(limit, maxPageSize)));
+    }
+
+    // ========== Helper method to build ClassResponse ==========
+    private ClassResponse buildClassResponse(ClassEntity classEntity) {
+        return buildClassResponse(classEntity,
+                gradeName(classEntity),
+                lecturerName(classEntity),
+                lectureCount(classEntity));
+    }
+
+    // Hot lectures plus, for an archived class, those already moved to lectures_archive
+    private int lectureCount(ClassEntity classEntity) {
+        long count = lectureRepository.countByClassEntityId(classEntity.getId());
+        if (classEntity.getStatus() == ClassEntity.ClassStatus.ARCHIVED) {
+            count += archivedLectureRepository.countByClassId(classEntity.getId());
+        }
+        return (int) count;
+    }
+
+    // ========== Helper method to build many ClassResponses at once ==========
+    private List<ClassResponse> buildClassResponses(List<ClassEntity> classes) {
+        // Names come from the row snapshots; only classes without one go to user-service
+        List<Long> gradeIds = classes.stream()
+                .filter(classEntity -> classEntity.getGradeName() == null)
+                .map(ClassEntity::getGradeId).distinct().toList();
+        List<Long> lecturerIds = classes.stream()
+                .filter(classEntity -> classEntity.getLecturerName() == null)
+                .map(ClassEntity::getLecturerId).distinct().toList();
+
+        // Look up every distinct grade and lecturer concurrently instead of two calls per class
+        List<Supplier<String>> lookups = new ArrayList<>();
+        gradeIds.forEach(gradeId -> lookups.add(() -> gradeName(gradeId)));
+        lecturerIds.forEach(lecturerId -> lookups.add(() -> lecturerName(lecturerId)));
+        List<String> names = enrichmentExecutor.mapAll(lookups, Supplier::get);
+
+        Map<Long, String> gradeNames = new HashMap<>();
+        for (int i = 0; i < gradeIds.size(); i++) {
+            gradeNames.put(gradeIds.get(i), names.get(i));
+        }
+        Map<Long, String> lecturerNames = new HashMap<>();
+        for (int i = 0; i < lecturerIds.size(); i++) {
+            lecturerNames.put(lecturerIds.get(i), names.get(gradeIds.size() + i));
+        }
+
+        Map<Long, Integer> lectureCounts = lectureCounts(classes.stream().map(ClassEntity::getId).toList());
+
+        return classes.stream()
+                .map(classEntity -> buildClassResponse(classEntity,
+                        classEntity.getGradeName() != null
+                                ? classEntity.getGradeName() : gradeNames.get(classEntity.getGradeId()),
+                        classEntity.getLecturerName() != null
+                                ? classEntity.getLecturerName() : lecturerNames.get(classEntity.getLecturerId()),
+                        lectureCounts.getOrDefault(classEntity.getId(), 0)))
+                .collect(Collectors.toList());
+    }
+
+    // One grouped COUNT for all classes instead of loading each lectures collection
+    private Map<Long, Integer> lectureCounts(List<Long> classIds) {
+        Map<Long, Integer> counts = new HashMap<>();
+        if (classIds.isEmpty()) {
+            return counts;
+        }
+
+        for (LectureRepository.LectureCount count : lectureRepository.countByClassIds(classIds)) {
+            counts.put(count.getClassId(), (int) count.getLectureCount());
+        }
+        return counts;
+    }
+
+    // Static and package-private so DtoMappingBenchmark measures these exact mappings
+    static ClassResponse buildClassResponse(ClassEntity classEntity, String gradeName, String lecturerName,
+                                            int lectureCount) {
         return ClassResponse.builder()
                 .id(classEntity.getId())
                 .name(classEntity.getName())
@@ -434,14 +1060,108 @@ public class ClassService {
                 .startDate(classEntity.getStartDate())
                 .endDate(classEntity.getEndDate())
                 .status(classEntity.getStatus())
-                .lectureCount(classEntity.getLectures() != null ? classEntity.getLectures().size() : 0)
+                .lectureCount(lectureCount)
+                .build();
+    }
+
+    static LectureResponse lectureResponse(Lecture lecture, Long classId) {
+        return LectureResponse.builder()
+                .id(lecture.getId())
+                .classId(classId)
+                .title(lecture.getTitle())
+                .description(lecture.getDescription())
+                .dateTime(lecture.getDateTime())
+                .videoLink(lecture.getVideoLink())
+                .pdfUrl(lecture.getPdfUrl())
+                .createdAt(lecture.getCreatedAt())
                 .build();
     }
 
+    static AttendanceResponse attendanceResponse(Attendance attendance, String studentName,
+                                                 Long lectureId, String lectureTitle) {
+        return AttendanceResponse.builder()
+                .id(attendance.getId())
+                .studentId(attendance.getStudentId())
+                .studentName(studentName)
+                .lectureId(lectureId)
+                .lectureTitle(lectureTitle)
+                .status(attendance.getStatus().name())
+                .checkInTime(attendance.getCheckInTime())
+                .build();
+    }
+
+    private String gradeName(ClassEntity classEntity) {
+        return classEntity.getGradeName() != null ? classEntity.getGradeName() : gradeName(classEntity.getGradeId());
+    }
+
+    private String lecturerName(ClassEntity classEntity) {
+        return classEntity.getLecturerName() != null
+                ? classEntity.getLecturerName()
+                : lecturerName(classEntity.getLecturerId());
+    }
+
+    private String gradeName(Long gradeId) {
+        try {
+            return userLookupService.resolveGrade(gradeId).getName();
+        } catch (FeignException e) {
+            return "Unknown Grade";
+        }
+    }
+
+    private String lecturerName(Long lecturerId) {
+        try {
+            return userLookupService.resolveLecturer(lecturerId).getFullName();
+        } catch (FeignException e) {
+            return "Unknown Lecturer";
+        }
+    }
+
+    // Snapshot names first; rows without one are resolved through user-service in one batch
+    private Function<Attendance, String> studentNames(List<Attendance> attendances) {
+        return studentNames(attendances, Attendance::getStudentId, Attendance::getStudentName);
+    }
+
+    private <T> Function<T, String> studentNames(List<T> rows, Function<T, Long> studentId,
+                                                 Function<T, String> snapshotName) {
+        List<Long> missing = rows.stream()
+                .filter(row -> snapshotName.apply(row) == null)
+                .map(studentId)
+                .toList();
+        Map<Long, UserResponse> students = missing.isEmpty() ? Map.of() : userLookupService.getStudents(missing);
+
+        return row -> {
+            if (snapshotName.apply(row) != null) {
+                return snapshotName.apply(row);
+            }
+            UserResponse student = students.get(studentId.apply(row));
+            return student != null ? student.getFullName() : "Unknown Student";
+        };
+    }
+
+    // One student's rows: the newest snapshot if every row has one, else validate through user-service
+    private <T> String studentName(Long studentId, List<T> rows, Function<T, String> snapshotName,
+                                   Function<T, LocalDateTime> snapshotRefreshedAt) {
+        if (!rows.isEmpty() && rows.stream().allMatch(row -> snapshotName.apply(row) != null)) {
+            return rows.stream()
+                    .max(Comparator.comparing(snapshotRefreshedAt,
+                            Comparator.nullsFirst(Comparator.naturalOrder())))
+                    .map(snapshotName)
+                    .orElseThrow();
+        }
+
+        try {
+            return userLookupService.validateStudent(studentId).getFullName();
+        } catch (FeignException e) {
+            throw new RuntimeException("Student not found (ID: " + studentId + "): " + e.getMessage());
+        }
+    }
+
     // ========== Update Lecture ==========
+    @Transactional
     public LectureResponse updateLecture(Long lectureId, LectureRequest request, Long lecturerId) {
 
-        Lecture lecture = lectureRepository.findById(lectureId)
+        // Class fetched in the same query - the ownership check below would otherwise load it separately
+        Lecture lecture = lectureRepository.findWithClassEntityById(lectureId)
                 .orElseThrow(() -> new RuntimeException("Lecture not found (ID: " + lectureId + ")"));
 
         ClassEntity classEntity = lecture.getClassEntity();
@@ -460,22 +1180,14 @@ public class ClassService {
 
         lecture = lectureRepository.save(lecture);
 
-        return LectureResponse.builder()
-                .id(lecture.getId())
-                .classId(classEntity.getId())
-                .title(lecture.getTitle())
-                .description(lecture.getDescription())
-                .dateTime(lecture.getDateTime())
-                .videoLink(lecture.getVideoLink())
-                .pdfUrl(lecture.getPdfUrl())
-                .createdAt(lecture.getCreatedAt())
-                .build();
+        return lectureResponse(lecture, classEntity.getId());
     }
 
     // ========== Delete Lecture ==========
+    @Transactional
     public void deleteLecture(Long lectureId, Long lecturerId) {
 
-        Lecture lecture = lectureRepository.findById(lectureId)
+        Lecture lecture = lectureRepository.findWithClassEntityById(lectureId)
                 .orElseThrow(() -> new RuntimeException("Lecture not found (ID: " + lectureId + ")"));
 
         ClassEntity classEntity = lecture.getClassEntity();
@@ -491,38 +1203,35 @@ public class ClassService {
 
 
     // ========== Get attendance of logged-in student for a lecture ==========
+    @Transactional(readOnly = true)
     public AttendanceResponse getMyAttendanceForLecture(Long lectureId, Long studentId) {
 
         // 🔍 Validate lecture exists
         Lecture lecture = lectureRepository.findById(lectureId)
                 .orElseThrow(() -> new RuntimeException("Lecture not found (ID: " + lectureId + ")"));
 
+        // 🔍 Find attendance record; its name snapshot saves the user-service round-trip
+        Optional<Attendance> marked = attendanceRepository.findByStudentIdAndLectureId(studentId, lectureId);
+        String studentName = marked.map(Attendance::getStudentName).orElse(null);
+
         // 🔍 Validate student exists
-        UserResponse student;
-        try {
-            student = userServiceClient.validateStudent(studentId);
-        } catch (FeignException e) {
-            throw new RuntimeException("Student not found (ID: " + studentId + ")");
+        if (studentName == null) {
+            try {
+                studentName = userLookupService.validateStudent(studentId).getFullName();
+            } catch (FeignException e) {
+                throw new RuntimeException("Student not found (ID: " + studentId + ")");
+            }
         }
 
-        // 🔍 Find attendance record
-        Attendance attendance = attendanceRepository
-                .findByStudentIdAndLectureId(studentId, lectureId)
+        Attendance attendance = marked
                 .orElseThrow(() -> new RuntimeException("Attendance not marked for this lecture"));
 
         // ✅ Build response
-        return AttendanceResponse.builder()
-                .id(attendance.getId())
-                .studentId(studentId)
-                .studentName(student.getFullName())
-                .lectureId(lecture.getId())
-                .lectureTitle(lecture.getTitle())
-                .status(attendance.getStatus().name())
-                .checkInTime(attendance.getCheckInTime())
-                .build();
+        return attendanceResponse(attendance, studentName, lecture.getId(), lecture.getTitle());
     }
 
     // ========== Get total lectures count ==========
+    @Transactional(readOnly = true)
     public Long getTotalLecturesCount() {
         return lectureRepository.count();
     }
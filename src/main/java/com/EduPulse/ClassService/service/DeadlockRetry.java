@@ -0,0 +1,53 @@
+package com.EduPulse.ClassService.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs an attendance write in a transaction of its own and runs it again when the database
+ * rolled it back as a deadlock victim (or after a lock wait timeout).
+ * <p>
+ * On MySQL a locking read of a roster row that does not exist yet takes a gap lock, so two
+ * rosters touching neighbouring keys can deadlock; InnoDB rolls one back, and re-running it
+ * is the remedy MySQL documents. Inside a caller's transaction the victim cannot be re-run
+ * on its own, so there the exception propagates.
+ */
+@Component
+public class DeadlockRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Counter retries;
+
+    public DeadlockRetry(TransactionTemplate transactionTemplate,
+                         @Value("${attendance.deadlock-retry.max-attempts:3}") int maxAttempts,
+                         MeterRegistry meterRegistry) {
+        this.transactionTemplate = transactionTemplate;
+        this.maxAttempts = maxAttempts;
+        this.retries = Counter.builder("classservice.attendance.deadlock.retries")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(TransactionCallback<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transactionTemplate.execute(action);
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(action);
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                retries.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.EduPulse.ClassService.service;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Runs downstream enrichment lookups concurrently on virtual threads.
+ * <p>
+ * A semaphore caps how many lookups are in flight at once
+ * ({@code enrichment.max-concurrency}), and the caller's request attributes are
+ * carried over so {@code FeignRequestInterceptor} still forwards the bearer token.
+ */
+@Component
+public class EnrichmentExecutor implements DisposableBean {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+
+    public EnrichmentExecutor(@Value("${enrichment.max-concurrency:16}") int maxConcurrency) {
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    /**
+     * Applies {@code mapper} to every item concurrently and returns the results in
+     * the same order as {@code items}. The first failure is re-thrown and cancels
+     * the lookups that are still pending.
+     */
+    public <T, R> List<R> mapAll(List<T> items, Function<? super T, ? extends R> mapper) {
+        if (items.size() <= 1) {
+            return items.stream().<R>map(mapper).toList();
+        }
+
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        List<Future<R>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(executor.submit(() -> {
+                permits.acquire();
+                RequestContextHolder.setRequestAttributes(requestAttributes);
+                try {
+                    return mapper.apply(item);
+                } finally {
+                    RequestContextHolder.resetRequestAttributes();
+                    permits.release();
+                }
+            }));
+        }
+
+        List<R> results = new ArrayList<>(items.size());
+        try {
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new RuntimeException("Enrichment interrupted", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Enrichment failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return results;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
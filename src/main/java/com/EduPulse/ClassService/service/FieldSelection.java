@@ -0,0 +1,41 @@
+package com.EduPulse.ClassService.service;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Parses a {@code fields=} parameter into the requested response fields. {@code id} is always
+ * part of the selection, so clients can correlate rows.
+ */
+public final class FieldSelection {
+
+    public static final Set<String> CLASS_FIELDS = Set.of("id", "name", "description", "gradeId", "gradeName",
+            "lecturerId", "lecturerName", "startDate", "endDate", "status", "lectureCount");
+
+    public static final Set<String> LECTURE_FIELDS = Set.of("id", "classId", "title", "description", "dateTime",
+            "videoLink", "pdfUrl", "createdAt");
+
+    private FieldSelection() {
+    }
+
+    // Null for a missing / blank parameter, meaning the full response
+    public static Set<String> parse(String fields, Set<String> allowed) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new UnknownFieldException(name, allowed);
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,208 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.dto.UserResponse;
+import com.EduPulse.ClassService.repository.AttendanceRepository;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the grade / lecturer / student name snapshots on classes and attendance
+ * rows fresh, so read endpoints can take display names straight from the database.
+ * <p>
+ * Snapshots are written together with their row and re-validated in batches once
+ * they are older than {@code snapshots.max-age}. When user-service cannot answer,
+ * the run stops and the stale rows are picked up again by the next one.
+ */
+@Service
+public class NameSnapshotRefresher {
+
+    private final ClassRepository classRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final UserLookupService userLookupService;
+    private final StudentBatchLoader studentBatchLoader;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration maxAge;
+    private final int batchSize;
+
+    private final Counter refreshedClasses;
+    private final Counter refreshedAttendance;
+    private final AtomicReference<LocalDateTime> oldestClassSnapshot = new AtomicReference<>();
+    private final AtomicReference<LocalDateTime> oldestAttendanceSnapshot = new AtomicReference<>();
+
+    public NameSnapshotRefresher(ClassRepository classRepository,
+                                 AttendanceRepository attendanceRepository,
+                                 UserLookupService userLookupService,
+                                 StudentBatchLoader studentBatchLoader,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${snapshots.max-age:PT1H}") Duration maxAge,
+                                 @Value("${snapshots.batch-size:200}") int batchSize,
+                                 MeterRegistry meterRegistry) {
+        this.classRepository = classRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.userLookupService = userLookupService;
+        this.studentBatchLoader = studentBatchLoader;
+        this.transactionTemplate = transactionTemplate;
+        this.maxAge = maxAge;
+        this.batchSize = batchSize;
+
+        this.refreshedClasses = Counter.builder("classservice.name_snapshots.refreshed")
+                .tag("snapshot", "class")
+                .register(meterRegistry);
+        this.refreshedAttendance = Counter.builder("classservice.name_snapshots.refreshed")
+                .tag("snapshot", "attendance")
+                .register(meterRegistry);
+
+        // Age of the oldest snapshot as of the last run; keeps growing if runs stop succeeding
+        Gauge.builder("classservice.name_snapshots.age", oldestClassSnapshot, NameSnapshotRefresher::ageSeconds)
+                .tag("snapshot", "class")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("classservice.name_snapshots.age", oldestAttendanceSnapshot, NameSnapshotRefresher::ageSeconds)
+                .tag("snapshot", "attendance")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${snapshots.refresh-interval:PT5M}",
+            initialDelayString = "${snapshots.refresh-interval:PT5M}")
+    public void refresh() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(maxAge);
+        refreshClasses(cutoff);
+        refreshAttendance(cutoff);
+
+        oldestClassSnapshot.set(classRepository.findOldestNameSnapshot());
+        oldestAttendanceSnapshot.set(attendanceRepository.findOldestStudentNameSnapshot());
+    }
+
+    // ========== Invalidation (pushed by user-service) ==========
+    @Transactional
+    public void markGradeStale(Long gradeId) {
+        classRepository.markGradeNamesStale(gradeId);
+    }
+
+    @Transactional
+    public void markUserStale(Long userId) {
+        classRepository.markLecturerNamesStale(userId);
+        attendanceRepository.markStudentNameStale(userId);
+    }
+
+    // Refreshed rows move past the cutoff, so each batch picks up the next stale ones
+    private void refreshClasses(LocalDateTime cutoff) {
+        while (true) {
+            Integer refreshed;
+            try {
+                refreshed = transactionTemplate.execute(status -> refreshClassBatch(cutoff));
+            } catch (FeignException | OptimisticLockingFailureException e) {
+                return;   // user-service unavailable or a concurrent edit; retried next run
+            }
+            if (refreshed == null || refreshed == 0) {
+                return;
+            }
+            refreshedClasses.increment(refreshed);
+        }
+    }
+
+    private int refreshClassBatch(LocalDateTime cutoff) {
+        List<ClassEntity> classes = classRepository.findStaleNameSnapshots(cutoff, PageRequest.of(0, batchSize));
+        Map<Long, String> gradeNames = new HashMap<>();
+        Map<Long, String> lecturerNames = new HashMap<>();
+
+        // Only a changed name dirties the entity; the others just get their timestamp moved
+        for (ClassEntity classEntity : classes) {
+            String gradeName = gradeNames.computeIfAbsent(classEntity.getGradeId(), this::currentGradeName);
+            String lecturerName = lecturerNames.computeIfAbsent(classEntity.getLecturerId(), this::currentLecturerName);
+            if (!Objects.equals(classEntity.getGradeName(), gradeName)) {
+                classEntity.setGradeName(gradeName);
+            }
+            if (!Objects.equals(classEntity.getLecturerName(), lecturerName)) {
+                classEntity.setLecturerName(lecturerName);
+            }
+        }
+        if (!classes.isEmpty()) {
+            classRepository.markNamesRefreshed(classes.stream().map(ClassEntity::getId).toList(), LocalDateTime.now());
+        }
+        return classes.size();
+    }
+
+    // Walks the stale students in id order; those user-service did not return are retried once at the end
+    private void refreshAttendance(LocalDateTime cutoff) {
+        List<Long> unresolved = new ArrayList<>();
+        Long afterId = 0L;
+        while (true) {
+            List<Long> studentIds = attendanceRepository.findStudentsWithStaleNames(
+                    afterId, cutoff, PageRequest.of(0, batchSize));
+            if (studentIds.isEmpty()) {
+                break;
+            }
+
+            Map<Long, UserResponse> students = studentBatchLoader.loadStudents(studentIds);
+            refreshStudentNames(students);
+            for (Long studentId : studentIds) {
+                if (!students.containsKey(studentId)) {
+                    unresolved.add(studentId);
+                }
+            }
+
+            afterId = studentIds.get(studentIds.size() - 1);
+        }
+
+        // The walk has moved past them (a failed chunk or an unknown student); still stale if missing again
+        for (int from = 0; from < unresolved.size(); from += batchSize) {
+            refreshStudentNames(studentBatchLoader.loadStudents(
+                    unresolved.subList(from, Math.min(from + batchSize, unresolved.size()))));
+        }
+    }
+
+    private void refreshStudentNames(Map<Long, UserResponse> students) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer refreshed = transactionTemplate.execute(status -> {
+            int rows = 0;
+            for (Map.Entry<Long, UserResponse> student : students.entrySet()) {
+                rows += attendanceRepository.updateStudentName(student.getKey(), student.getValue().getFullName(), now);
+            }
+            return rows;
+        });
+        refreshedAttendance.increment(refreshed != null ? refreshed : 0);
+    }
+
+    private String currentGradeName(Long gradeId) {
+        try {
+            return userLookupService.validateGrade(gradeId).getName();
+        } catch (FeignException.NotFound e) {
+            return "Unknown Grade";
+        }
+    }
+
+    private String currentLecturerName(Long lecturerId) {
+        try {
+            return userLookupService.validateLecturer(lecturerId).getFullName();
+        } catch (FeignException.NotFound e) {
+            return "Unknown Lecturer";
+        }
+    }
+
+    private static double ageSeconds(AtomicReference<LocalDateTime> oldest) {
+        LocalDateTime refreshedAt = oldest.get();
+        return refreshedAt != null ? Duration.between(refreshedAt, LocalDateTime.now()).toSeconds() : 0;
+    }
+}
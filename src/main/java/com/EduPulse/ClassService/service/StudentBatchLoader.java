@@ -0,0 +1,88 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.dto.UserResponse;
+import feign.FeignException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Resolves many students against user-service with one bulk call per chunk
+ * instead of one {@code validateStudent} call per row.
+ */
+@Component
+public class StudentBatchLoader {
+
+    private final UserServiceClient userServiceClient;
+    private final int chunkSize;
+
+    public StudentBatchLoader(UserServiceClient userServiceClient,
+                              @Value("${user-service.batch-size:100}") int chunkSize) {
+        this.userServiceClient = userServiceClient;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Collapses the given IDs to their distinct values and fetches them in chunks.
+     * Students user-service does not know about (or a chunk that fails) are simply
+     * missing from the returned map, so callers can fall back to a placeholder name.
+     */
+    public Map<Long, UserResponse> loadStudents(Collection<? extends Long> studentIds) {
+        return load(studentIds).students();
+    }
+
+    /**
+     * Like {@link #loadStudents}, but also reports the IDs of the chunks that failed,
+     * so callers can retry those and give up only on students user-service answered for.
+     */
+    public Batch load(Collection<? extends Long> studentIds) {
+        return load(studentIds, false);
+    }
+
+    /**
+     * Like {@link #loadStudents}, but a failed chunk fails the whole call with its
+     * {@link FeignException}, so validations never mistake an outage for unknown students.
+     */
+    public Map<Long, UserResponse> fetchStudents(Collection<? extends Long> studentIds) {
+        return load(studentIds, true).students();
+    }
+
+    private Batch load(Collection<? extends Long> studentIds, boolean strict) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<Long>(studentIds));
+        distinctIds.removeIf(Objects::isNull);
+
+        Map<Long, UserResponse> students = new HashMap<>();
+        Set<Long> failed = new HashSet<>();
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size()));
+            try {
+                for (UserResponse student : userServiceClient.getStudentsByIds(chunk)) {
+                    students.put(student.getId(), student);
+                }
+            } catch (FeignException e) {
+                if (strict) {
+                    throw e;
+                }
+                // Leave this chunk unresolved, callers fall back to "Unknown Student" or retry
+                failed.addAll(chunk);
+            }
+        }
+        return new Batch(students, failed);
+    }
+
+    /**
+     * Students user-service returned, and the IDs it could not be asked about. An ID in
+     * neither was asked about and is unknown to user-service.
+     */
+    public record Batch(Map<Long, UserResponse> students, Set<Long> failed) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.EduPulse.ClassService.service;
+
+import java.util.Set;
+
+/**
+ * A {@code fields=} parameter names a field the response does not have; the endpoint answers 400.
+ */
+public class UnknownFieldException extends RuntimeException {
+
+    public UnknownFieldException(String field, Set<String> allowed) {
+        super("Unknown field '" + field + "' (allowed: " + allowed + ")");
+    }
+}
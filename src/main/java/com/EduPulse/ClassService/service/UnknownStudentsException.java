@@ -0,0 +1,13 @@
+package com.EduPulse.ClassService.service;
+
+import java.util.List;
+
+/**
+ * A roster names students user-service does not know; the bulk endpoint answers 400.
+ */
+public class UnknownStudentsException extends RuntimeException {
+
+    public UnknownStudentsException(List<Long> studentIds) {
+        super("Student not found (IDs: " + studentIds + ")");
+    }
+}
@@ -0,0 +1,288 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.dto.GradeResponse;
+import com.EduPulse.ClassService.model.dto.UserResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Near cache in front of {@link UserServiceClient}.
+ * <p>
+ * Grades, lecturers and students are cached separately, each with its own TTL and a
+ * shared maximum size (Caffeine's W-TinyLFU eviction). A 404 from user-service is
+ * cached for a short time as well and re-thrown on every hit, so callers keep
+ * handling {@link FeignException} exactly as they did against the raw client.
+ * <p>
+ * Every successful answer is also kept as the last known good value. Read paths
+ * ({@link #resolveGrade}, {@link #resolveLecturer}, {@link #getStudents}) fall back
+ * to it when user-service times out or its circuit breaker is open; validations on
+ * write paths never do.
+ */
+@Service
+public class UserLookupService {
+
+    private final UserServiceClient userServiceClient;
+    private final StudentBatchLoader studentBatchLoader;
+
+    private final Cache<Long, Lookup<GradeResponse>> grades;
+    private final Cache<Long, Lookup<UserResponse>> lecturers;
+    private final Cache<Long, Lookup<UserResponse>> students;
+
+    private final Cache<Long, GradeResponse> lastKnownGrades;
+    private final Cache<Long, UserResponse> lastKnownLecturers;
+    private final Cache<Long, UserResponse> lastKnownStudents;
+
+    public UserLookupService(UserServiceClient userServiceClient,
+                             StudentBatchLoader studentBatchLoader,
+                             @Value("${user-service.cache.max-size:10000}") long maxSize,
+                             @Value("${user-service.cache.grade-ttl:PT1H}") Duration gradeTtl,
+                             @Value("${user-service.cache.user-ttl:PT15M}") Duration userTtl,
+                             @Value("${user-service.cache.not-found-ttl:PT1M}") Duration notFoundTtl,
+                             @Value("${user-service.cache.stale-ttl:P1D}") Duration staleTtl,
+                             MeterRegistry meterRegistry) {
+        this.userServiceClient = userServiceClient;
+        this.studentBatchLoader = studentBatchLoader;
+        this.grades = buildCache(maxSize, gradeTtl, notFoundTtl);
+        this.lecturers = buildCache(maxSize, userTtl, notFoundTtl);
+        this.students = buildCache(maxSize, userTtl, notFoundTtl);
+        this.lastKnownGrades = buildStaleCache(maxSize, staleTtl);
+        this.lastKnownLecturers = buildStaleCache(maxSize, staleTtl);
+        this.lastKnownStudents = buildStaleCache(maxSize, staleTtl);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, grades, "user-service.grades");
+        CaffeineCacheMetrics.monitor(meterRegistry, lecturers, "user-service.lecturers");
+        CaffeineCacheMetrics.monitor(meterRegistry, students, "user-service.students");
+    }
+
+    public GradeResponse validateGrade(Long gradeId) {
+        return lookup(grades, lastKnownGrades, gradeId, userServiceClient::validateGrade);
+    }
+
+    public UserResponse validateLecturer(Long lecturerId) {
+        return lookup(lecturers, lastKnownLecturers, lecturerId, userServiceClient::validateLecturer);
+    }
+
+    public UserResponse validateStudent(Long studentId) {
+        return lookup(students, lastKnownStudents, studentId, userServiceClient::validateStudent);
+    }
+
+    /**
+     * Batch counterpart of {@link #validateStudent}: cache misses are fetched together, with
+     * no last known good fallback, and a failed call throws its {@link FeignException}.
+     * Students missing from the result are unknown to user-service.
+     */
+    public Map<Long, UserResponse> validateStudents(Collection<Long> studentIds) {
+        Set<Long> distinctIds = studentIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<Long, Lookup<UserResponse>> cached = students.getAll(distinctIds, missing -> {
+            Map<Long, Lookup<UserResponse>> loaded = new LinkedHashMap<>();
+            studentBatchLoader.fetchStudents(missing).forEach((id, student) -> {
+                loaded.put(id, Lookup.found(student));
+                lastKnownStudents.put(id, student);
+            });
+            return loaded;
+        });
+
+        Map<Long, UserResponse> valid = new LinkedHashMap<>();
+        cached.forEach((id, lookup) -> {
+            if (lookup.value() != null) {
+                valid.put(id, lookup.value());
+            }
+        });
+        return valid;
+    }
+
+    // ========== Read paths (stale data allowed) ==========
+    public GradeResponse resolveGrade(Long gradeId) {
+        return orLastKnown(lastKnownGrades, gradeId, () -> validateGrade(gradeId));
+    }
+
+    public UserResponse resolveLecturer(Long lecturerId) {
+        return orLastKnown(lastKnownLecturers, lecturerId, () -> validateLecturer(lecturerId));
+    }
+
+    /**
+     * Returns every student that could be resolved; cache misses are fetched
+     * together through {@link StudentBatchLoader}. Students the loader could not
+     * fetch are filled in from their last known good value.
+     */
+    public Map<Long, UserResponse> getStudents(Collection<Long> studentIds) {
+        return lookupStudents(studentIds).students();
+    }
+
+    /**
+     * Like {@link #getStudents}, but also reports the students that could neither be
+     * fetched nor filled in from a last known good value. Those are worth asking for again;
+     * any other missing student is unknown to user-service.
+     */
+    public StudentBatchLoader.Batch lookupStudents(Collection<Long> studentIds) {
+        Set<Long> distinctIds = studentIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Set<Long> failed = new HashSet<>();
+        Map<Long, Lookup<UserResponse>> cached = students.getAll(distinctIds, missing -> {
+            StudentBatchLoader.Batch batch = studentBatchLoader.load(missing);
+            failed.addAll(batch.failed());
+            Map<Long, Lookup<UserResponse>> loaded = new LinkedHashMap<>();
+            batch.students().forEach((id, student) -> {
+                loaded.put(id, Lookup.found(student));
+                lastKnownStudents.put(id, student);
+            });
+            return loaded;
+        });
+
+        Map<Long, UserResponse> resolved = new LinkedHashMap<>();
+        Set<Long> unavailable = new HashSet<>();
+        for (Long id : distinctIds) {
+            Lookup<UserResponse> lookup = cached.get(id);
+            if (lookup != null && lookup.value() != null) {
+                resolved.put(id, lookup.value());
+            } else if (lookup == null) {
+                UserResponse stale = lastKnownStudents.getIfPresent(id);
+                if (stale != null) {
+                    resolved.put(id, stale);
+                } else if (failed.contains(id)) {
+                    unavailable.add(id);
+                }
+            }
+        }
+        return new StudentBatchLoader.Batch(resolved, unavailable);
+    }
+
+    // ========== Invalidation (pushed by user-service) ==========
+    public void evictGrade(Long gradeId) {
+        grades.invalidate(gradeId);
+    }
+
+    public void evictUser(Long userId) {
+        lecturers.invalidate(userId);
+        students.invalidate(userId);
+        lastKnownLecturers.invalidate(userId);
+        lastKnownStudents.invalidate(userId);
+    }
+
+    public void evictAll() {
+        grades.invalidateAll();
+        lecturers.invalidateAll();
+        students.invalidateAll();
+        lastKnownGrades.invalidateAll();
+        lastKnownLecturers.invalidateAll();
+        lastKnownStudents.invalidateAll();
+    }
+
+    // ========== Statistics ==========
+    public Map<String, CacheStats> stats() {
+        return Map.of(
+                "grades", grades.stats(),
+                "lecturers", lecturers.stats(),
+                "students", students.stats());
+    }
+
+    public Map<String, Long> sizes() {
+        return Map.of(
+                "grades", grades.estimatedSize(),
+                "lecturers", lecturers.estimatedSize(),
+                "students", students.estimatedSize());
+    }
+
+    private static <T> T lookup(Cache<Long, Lookup<T>> cache, Cache<Long, T> lastKnown, Long id,
+                                Function<Long, T> loader) {
+        Lookup<T> lookup = cache.get(id, key -> {
+            try {
+                T value = loader.apply(key);
+                lastKnown.put(key, value);
+                return Lookup.found(value);
+            } catch (FeignException.NotFound e) {
+                lastKnown.invalidate(key);
+                return Lookup.notFound(e);
+            }
+        });
+        if (lookup.notFound() != null) {
+            throw lookup.notFound();
+        }
+        return lookup.value();
+    }
+
+    // A 404 is an answer and is re-thrown; any other failure (timeout, open circuit, 5xx) falls back
+    private static <T> T orLastKnown(Cache<Long, T> lastKnown, Long id, Supplier<T> lookup) {
+        try {
+            return lookup.get();
+        } catch (FeignException.NotFound e) {
+            throw e;
+        } catch (FeignException e) {
+            T stale = lastKnown.getIfPresent(id);
+            if (stale == null) {
+                throw e;
+            }
+            return stale;
+        }
+    }
+
+    private static <T> Cache<Long, T> buildStaleCache(long maxSize, Duration staleTtl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(staleTtl)
+                .build();
+    }
+
+    private static <T> Cache<Long, Lookup<T>> buildCache(long maxSize, Duration ttl, Duration notFoundTtl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new LookupExpiry<T>(ttl, notFoundTtl))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Either a resolved value or the 404 user-service answered with.
+     */
+    private record Lookup<T>(T value, FeignException.NotFound notFound) {
+
+        static <T> Lookup<T> found(T value) {
+            return new Lookup<>(value, null);
+        }
+
+        static <T> Lookup<T> notFound(FeignException.NotFound notFound) {
+            return new Lookup<>(null, notFound);
+        }
+    }
+
+    private record LookupExpiry<T>(Duration ttl, Duration notFoundTtl) implements Expiry<Long, Lookup<T>> {
+
+        @Override
+        public long expireAfterCreate(Long key, Lookup<T> lookup, long currentTime) {
+            return (lookup.notFound() != null ? notFoundTtl : ttl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Lookup<T> lookup, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, lookup, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Lookup<T> lookup, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -6,6 +6,10 @@ import com.EduPulse.ClassService.model.dto.UserResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
+import java.util.List;
 
 @FeignClient(name = "user-service", url = "${USER_SERVICE_URL:user-service-url}")
 
@@ -21,6 +25,10 @@ public interface UserServiceClient {
     @GetMapping("/students/validate/{studentId}")
     UserResponse validateStudent(@PathVariable Long studentId);
 
+    // Bulk lookup - unknown IDs are simply left out of the result
+    @GetMapping("/students/batch")
+    List<UserResponse> getStudentsByIds(@RequestParam("ids") Collection<Long> studentIds);
+
 
     // NEW - for UserDetailsService
     @GetMapping("/username/{username}")
@@ -0,0 +1,38 @@
+-- Archive tables for existing databases (ddl-auto=update creates them as well).
+-- ClassArchiver moves the lectures and attendance of classes archived longer than archive.after
+-- here, keeping their ids. Separate tables rather than partitions: InnoDB does not partition
+-- tables with foreign keys, and attendance references lectures.
+
+ALTER TABLE classes
+    ADD COLUMN archived_at DATETIME(6) NULL,
+    ADD INDEX idx_classes_status_archived_at (status, archived_at);
+
+-- Classes archived before this column existed start their archive.after period now
+UPDATE classes SET archived_at = NOW(6) WHERE status = 'ARCHIVED' AND archived_at IS NULL;
+
+CREATE TABLE lectures_archive (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    class_id    BIGINT       NOT NULL,
+    series_id   VARCHAR(36),
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    date_time   DATETIME(6)  NOT NULL,
+    video_link  VARCHAR(255),
+    pdf_url     VARCHAR(255),
+    created_at  DATETIME(6)  NOT NULL,
+    archived_at DATETIME(6)  NOT NULL,
+    INDEX idx_lectures_archive_class_date_time (class_id, date_time)
+);
+
+CREATE TABLE attendance_archive (
+    id                        BIGINT       NOT NULL PRIMARY KEY,
+    student_id                BIGINT       NOT NULL,
+    student_name              VARCHAR(255),
+    student_name_refreshed_at DATETIME(6),
+    lecture_id                BIGINT       NOT NULL,
+    status                    VARCHAR(255) NOT NULL,
+    check_in_time             DATETIME(6),
+    archived_at               DATETIME(6)  NOT NULL,
+    INDEX idx_attendance_archive_student_lecture (student_id, lecture_id),
+    INDEX idx_attendance_archive_lecture_id (lecture_id)
+);
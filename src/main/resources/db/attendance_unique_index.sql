@@ -0,0 +1,13 @@
+-- One-off migration for existing databases before the unique attendance index.
+-- ddl-auto=update cannot add uk_attendance_lecture_student while duplicate
+-- (lecture_id, student_id) rows exist, so keep the most recent row of each pair first.
+
+DELETE a FROM attendance a
+JOIN attendance newer
+  ON newer.lecture_id = a.lecture_id
+ AND newer.student_id = a.student_id
+ AND newer.id > a.id;
+
+ALTER TABLE attendance
+    ADD CONSTRAINT uk_attendance_lecture_student UNIQUE (lecture_id, student_id),
+    ADD INDEX idx_attendance_student_lecture (student_id, lecture_id);
@@ -0,0 +1,6 @@
+-- Lecture series for existing databases (ddl-auto=update adds them as well).
+-- Lectures generated from one recurrence rule share a series_id; one-off lectures keep NULL.
+
+ALTER TABLE lectures
+    ADD COLUMN series_id VARCHAR(36) NULL,
+    ADD INDEX idx_lectures_series_id (series_id);
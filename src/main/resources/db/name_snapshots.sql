@@ -0,0 +1,14 @@
+-- Name snapshot columns for existing databases (ddl-auto=update adds them as well).
+-- Existing rows start with NULL refreshed-at timestamps, so the first
+-- NameSnapshotRefresher run fills them in; until then reads fall back to user-service.
+
+ALTER TABLE classes
+    ADD COLUMN grade_name VARCHAR(255),
+    ADD COLUMN lecturer_name VARCHAR(255),
+    ADD COLUMN names_refreshed_at DATETIME(6),
+    ADD INDEX idx_classes_names_refreshed_at (names_refreshed_at);
+
+ALTER TABLE attendance
+    ADD COLUMN student_name VARCHAR(255),
+    ADD COLUMN student_name_refreshed_at DATETIME(6),
+    ADD INDEX idx_attendance_student_name_refreshed_at (student_name_refreshed_at);
@@ -0,0 +1,9 @@
+-- Timetable indexes for existing databases (ddl-auto=update adds them as well).
+-- Classes are found by grade / lecturer, then their lectures by one range scan each.
+
+ALTER TABLE lectures
+    ADD INDEX idx_lectures_class_date_time (class_id, date_time);
+
+ALTER TABLE classes
+    ADD INDEX idx_classes_grade_id (grade_id),
+    ADD INDEX idx_classes_lecturer_id (lecturer_id);
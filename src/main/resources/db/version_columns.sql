@@ -0,0 +1,14 @@
+-- Version / last-modified columns for existing databases. Run before deploying; if
+-- ddl-auto=update already added the columns, run only the UPDATEs - existing rows
+-- must not keep a NULL version.
+
+ALTER TABLE classes
+    ADD COLUMN version BIGINT,
+    ADD COLUMN updated_at DATETIME(6);
+
+ALTER TABLE lectures
+    ADD COLUMN version BIGINT,
+    ADD COLUMN updated_at DATETIME(6);
+
+UPDATE classes SET version = 0, updated_at = NOW(6) WHERE version IS NULL;
+UPDATE lectures SET version = 0, updated_at = NOW(6) WHERE version IS NULL;
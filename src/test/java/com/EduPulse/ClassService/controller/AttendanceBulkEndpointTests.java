@@ -0,0 +1,136 @@
+package com.EduPulse.ClassService.controller;
+
+import com.EduPulse.ClassService.model.Attendance;
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.Lecture;
+import com.EduPulse.ClassService.repository.AttendanceRepository;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.repository.LectureRepository;
+import com.EduPulse.ClassService.service.UserServiceClient;
+import com.EduPulse.ClassService.support.StubUserServiceClient;
+import feign.FeignException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AttendanceBulkEndpointTests {
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    LectureRepository lectureRepository;
+
+    @Autowired
+    AttendanceRepository attendanceRepository;
+
+    private Lecture lecture;
+
+    @BeforeEach
+    void createLecture() {
+        ClassEntity classEntity = classRepository.save(ClassEntity.builder()
+                .name("Drama")
+                .gradeId(41L)
+                .lecturerId(4100L)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(3))
+                .build());
+        lecture = lectureRepository.save(Lecture.builder()
+                .classEntity(classEntity)
+                .title("Monologues")
+                .dateTime(LocalDateTime.now().plusDays(1))
+                .build());
+    }
+
+    @Test
+    void marksTheWholeRoster() throws Exception {
+        mockMvc.perform(post("/api/classes/lectures/{lectureId}/attendance/bulk", lecture.getId())
+                        .header("X-User-Id", 4100L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"studentId": 4101, "status": "PRESENT"},
+                                 {"studentId": 4102, "status": "late"},
+                                 {"studentId": 4103, "status": "ABSENT"}]"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[1].status").value("LATE"))
+                .andExpect(jsonPath("$[1].studentName").value("Student 4102"));
+
+        assertThat(attendanceRepository.findByLectureId(lecture.getId()))
+                .extracting(Attendance::getStudentId)
+                .containsExactlyInAnyOrder(4101L, 4102L, 4103L);
+    }
+
+    @Test
+    void invalidRowsAreABadRequestAndNothingIsWritten() throws Exception {
+        mockMvc.perform(post("/api/classes/lectures/{lectureId}/attendance/bulk", lecture.getId())
+                        .header("X-User-Id", 4100L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"studentId": 4111, "status": "PRESENT"},
+                                 {"status": "PRESENT"},
+                                 {"studentId": 4113, "status": "SICK"}]"""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$", hasItem(containsString("[1].studentId"))))
+                .andExpect(jsonPath("$", hasItem(containsString("[2].status"))));
+
+        assertThat(attendanceRepository.findByLectureId(lecture.getId())).isEmpty();
+    }
+
+    @Test
+    void unknownStudentsAreABadRequestAndNothingIsWritten() throws Exception {
+        StubUserServiceClient.shared().omitStudentOnce(4122L);
+
+        mockMvc.perform(post("/api/classes/lectures/{lectureId}/attendance/bulk", lecture.getId())
+                        .header("X-User-Id", 4100L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"studentId": 4121, "status": "PRESENT"},
+                                 {"studentId": 4122, "status": "PRESENT"}]"""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0]").value(containsString("4122")));
+
+        assertThat(attendanceRepository.findByLectureId(lecture.getId())).isEmpty();
+    }
+
+    @Test
+    void anOutageIsNotMistakenForUnknownStudents() {
+        StubUserServiceClient.shared().failStudentOnce(4132L);
+
+        assertThatThrownBy(() -> mockMvc.perform(post("/api/classes/lectures/{lectureId}/attendance/bulk", lecture.getId())
+                        .header("X-User-Id", 4100L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"studentId": 4131, "status": "PRESENT"},
+                                 {"studentId": 4132, "status": "PRESENT"}]""")))
+                .rootCause()
+                .isInstanceOf(FeignException.ServiceUnavailable.class);
+
+        assertThat(attendanceRepository.findByLectureId(lecture.getId())).isEmpty();
+    }
+}
@@ -0,0 +1,185 @@
+package com.EduPulse.ClassService.controller;
+
+import com.EduPulse.ClassService.model.Attendance;
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.Lecture;
+import com.EduPulse.ClassService.model.dto.AttendanceExportRow;
+import com.EduPulse.ClassService.repository.AttendanceExportRepository;
+import com.EduPulse.ClassService.repository.AttendanceRepository;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.repository.LectureRepository;
+import com.EduPulse.ClassService.service.AttendanceExportService;
+import com.EduPulse.ClassService.service.UserServiceClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+// No result printing: it reads the headers while the export thread commits the response and adds Server-Timing
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class AttendanceExportTests {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2026, 3, 2, 9, 0);
+    private static final AtomicLong NEXT_GRADE = new AtomicLong(9100);
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    AttendanceExportService attendanceExportService;
+
+    @Autowired
+    AttendanceExportRepository attendanceExportRepository;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    LectureRepository lectureRepository;
+
+    @Autowired
+    AttendanceRepository attendanceRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private Long grade;
+    private ClassEntity chemistry;
+    private Lecture acids;
+    private Lecture salts;
+    private Lecture metals;
+
+    @BeforeEach
+    void createAttendance() {
+        grade = NEXT_GRADE.incrementAndGet();
+        chemistry = newClass("Chemistry, \"Advanced\"", grade);
+        acids = newLecture(chemistry, "Acids\nand bases", MONDAY);
+        salts = newLecture(chemistry, "Salts", MONDAY.plusWeeks(1));
+        ClassEntity physics = newClass("Physics", grade);
+        metals = newLecture(physics, "Metals", MONDAY.plusWeeks(2));
+        Lecture cells = newLecture(newClass("Biology", NEXT_GRADE.incrementAndGet()), "Cells", MONDAY);
+
+        attend(acids, 9101L);
+        attend(salts, 9101L);
+        attend(metals, 9102L);
+        attend(cells, 9103L);
+    }
+
+    @Test
+    void csvQuotesFieldsWithCommasQuotesAndLineBreaks() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/classes/attendance/export")
+                        .param("classId", chemistry.getId().toString())
+                        .param("to", MONDAY.plusDays(1).toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String csv = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(csv).startsWith("attendance_id,student_id,lecture_id,lecture_title,");
+        assertThat(csv).contains(",9101," + acids.getId() + ",\"Acids\nand bases\"," + MONDAY + ","
+                + chemistry.getId() + ",\"Chemistry, \"\"Advanced\"\"\",PRESENT,");
+    }
+
+    @Test
+    void filtersByClassGradeAndHalfOpenDateRange() throws Exception {
+        assertThat(lectureIds(chemistry.getId(), null, null, null)).containsExactly(acids.getId(), salts.getId());
+        assertThat(lectureIds(null, grade, null, null))
+                .containsExactlyInAnyOrder(acids.getId(), salts.getId(), metals.getId());
+        // from is inclusive, to exclusive
+        assertThat(lectureIds(null, grade, MONDAY.plusWeeks(1), MONDAY.plusWeeks(2))).containsExactly(salts.getId());
+    }
+
+    @Test
+    void exportGetsItsOwnLongAsyncTimeout() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/classes/attendance/export")
+                        .param("classId", chemistry.getId().toString())
+                        .param("format", "NDJSON"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(started.getRequest().getAsyncContext().getTimeout())
+                .isEqualTo(Duration.ofMinutes(30).toMillis());
+        assertThat(mockMvc.perform(asyncDispatch(started)).andReturn().getResponse()
+                .getContentAsString(StandardCharsets.UTF_8).lines()).hasSize(2);
+    }
+
+    @Test
+    void rowsAreHandedOverOneByOneAndReadingStopsWhenTheSinkFails() {
+        List<AttendanceExportRow> seen = new ArrayList<>();
+
+        assertThatThrownBy(() -> attendanceExportRepository.streamRows(null, grade, null, null, false, row -> {
+            seen.add(row);
+            throw new IllegalStateException("client went away");
+        })).hasMessageContaining("client went away");
+
+        assertThat(seen).hasSize(1);
+    }
+
+    private List<Long> lectureIds(Long classId, Long gradeId, LocalDateTime from, LocalDateTime to) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        attendanceExportService.export(classId, gradeId, from, to, false, AttendanceExportService.ExportFormat.NDJSON)
+                .writeTo(out);
+
+        List<Long> lectureIds = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).lines().toList()) {
+            lectureIds.add(objectMapper.readValue(line, AttendanceExportRow.class).lectureId());
+        }
+        return lectureIds;
+    }
+
+    private ClassEntity newClass(String name, Long gradeId) {
+        return classRepository.save(ClassEntity.builder()
+                .name(name)
+                .gradeId(gradeId)
+                .lecturerId(9100L)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(3))
+                .build());
+    }
+
+    private Lecture newLecture(ClassEntity classEntity, String title, LocalDateTime dateTime) {
+        return lectureRepository.save(Lecture.builder()
+                .classEntity(classEntity)
+                .title(title)
+                .dateTime(dateTime)
+                .build());
+    }
+
+    private void attend(Lecture lecture, Long studentId) {
+        attendanceRepository.save(Attendance.builder()
+                .studentId(studentId)
+                .studentName("Student " + studentId)
+                .lecture(lecture)
+                .status(Attendance.AttendanceStatus.PRESENT)
+                .checkInTime(lecture.getDateTime())
+                .build());
+    }
+}
@@ -0,0 +1,144 @@
+package com.EduPulse.ClassService.controller;
+
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.Lecture;
+import com.EduPulse.ClassService.model.dto.AttendanceRequest;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.repository.LectureRepository;
+import com.EduPulse.ClassService.service.AttendanceFeedHub;
+import com.EduPulse.ClassService.service.ClassService;
+import com.EduPulse.ClassService.service.UserServiceClient;
+import com.EduPulse.ClassService.support.StubUserServiceClient;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.UnsupportedEncodingException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+// No result printing: it reads the headers while the feed's drainer thread is already writing frames
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class AttendanceFeedTests {
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ClassService classService;
+
+    @Autowired
+    AttendanceFeedHub attendanceFeedHub;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    LectureRepository lectureRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private final StubUserServiceClient stub = StubUserServiceClient.shared();
+
+    private Lecture lecture;
+
+    @BeforeEach
+    void createLecture() {
+        ClassEntity classEntity = classRepository.save(ClassEntity.builder()
+                .name("Astronomy")
+                .gradeId(21L)
+                .lecturerId(2100L)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(3))
+                .build());
+        lecture = lectureRepository.save(Lecture.builder()
+                .classEntity(classEntity)
+                .title("Comets")
+                .dateTime(LocalDateTime.now())
+                .build());
+    }
+
+    @Test
+    void subscriberGetsSnapshotThenDeltas() throws Exception {
+        classService.markAttendance(lecture.getId(), checkIn(2101L, "PRESENT"));
+
+        MvcResult stream = subscribe();
+        awaitContent(stream, "event:snapshot");
+        assertThat(content(stream)).contains("Student 2101");
+
+        classService.markAttendance(lecture.getId(), checkIn(2102L, "LATE"));
+        awaitContent(stream, "Student 2102");
+
+        String feed = content(stream);
+        assertThat(feed.indexOf("event:snapshot")).isLessThan(feed.indexOf("event:attendance"));
+        assertThat(feed).contains("\"status\":\"LATE\"");
+    }
+
+    @Test
+    void oneCheckInReachesHundredsOfDashboardsWithoutFurtherReads() throws Exception {
+        List<MvcResult> dashboards = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            dashboards.add(subscribe());
+        }
+        for (MvcResult dashboard : dashboards) {
+            awaitContent(dashboard, "event:snapshot");
+        }
+        assertThat(attendanceFeedHub.subscriberCount()).isGreaterThanOrEqualTo(200);
+
+        classService.markAttendance(lecture.getId(), checkIn(2103L, "PRESENT"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        stub.reset();
+
+        for (MvcResult dashboard : dashboards) {
+            awaitContent(dashboard, "Student 2103");
+        }
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(stub.totalCalls()).isZero();
+    }
+
+    private MvcResult subscribe() throws Exception {
+        return mockMvc.perform(get("/api/classes/lectures/{lectureId}/attendance/stream", lecture.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static void awaitContent(MvcResult stream, String expected) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!content(stream).contains(expected)) {
+            assertThat(System.nanoTime()).as("waiting for %s", expected).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static String content(MvcResult stream) throws UnsupportedEncodingException {
+        return stream.getResponse().getContentAsString();
+    }
+
+    private static AttendanceRequest checkIn(Long studentId, String status) {
+        AttendanceRequest request = new AttendanceRequest();
+        request.setStudentId(studentId);
+        request.setStatus(status);
+        return request;
+    }
+}
@@ -0,0 +1,124 @@
+package com.EduPulse.ClassService.controller;
+
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.Lecture;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.repository.LectureRepository;
+import com.EduPulse.ClassService.service.UserLookupService;
+import com.EduPulse.ClassService.service.UserServiceClient;
+import com.EduPulse.ClassService.support.StubUserServiceClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ClassControllerConditionalGetTests {
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    LectureRepository lectureRepository;
+
+    @Autowired
+    UserLookupService userLookupService;
+
+    private final StubUserServiceClient stub = StubUserServiceClient.shared();
+
+    private ClassEntity classEntity;
+
+    @BeforeEach
+    void createClass() {
+        classEntity = classRepository.save(ClassEntity.builder()
+                .name("Music")
+                .gradeId(71L)
+                .lecturerId(72L)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(3))
+                .build());
+    }
+
+    @Test
+    void unchangedClassAnswers304WithoutEnrichment() throws Exception {
+        String etag = mockMvc.perform(get("/api/classes/classes/{id}", classEntity.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        userLookupService.evictAll();
+        stub.reset();
+
+        mockMvc.perform(get("/api/classes/classes/{id}", classEntity.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        assertThat(stub.totalCalls()).isZero();
+
+        // A new lecture changes the lecture count, so the class is modified
+        newLecture("Scales");
+        mockMvc.perform(get("/api/classes/classes/{id}", classEntity.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void lectureListUsesAnAggregateVersion() throws Exception {
+        Lecture lecture = newLecture("Rhythm");
+        String etag = mockMvc.perform(get("/api/classes/{id}/lectures", classEntity.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/classes/{id}/lectures", classEntity.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        lecture.setTitle("Rhythm and metre");
+        lectureRepository.save(lecture);
+
+        mockMvc.perform(get("/api/classes/{id}/lectures", classEntity.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void lectureAnswers304UntilItIsUpdated() throws Exception {
+        Lecture lecture = newLecture("Harmony");
+        String etag = mockMvc.perform(get("/api/classes/lectures/{id}", lecture.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/classes/lectures/{id}", lecture.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        lecture = lectureRepository.findById(lecture.getId()).orElseThrow();
+        lecture.setDescription("Chords");
+        lectureRepository.save(lecture);
+
+        mockMvc.perform(get("/api/classes/lectures/{id}", lecture.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    private Lecture newLecture(String title) {
+        return lectureRepository.save(Lecture.builder()
+                .classEntity(classEntity)
+                .title(title)
+                .dateTime(LocalDateTime.now().plusDays(1))
+                .build());
+    }
+}
@@ -0,0 +1,194 @@
+package com.EduPulse.ClassService.controller;
+
+import com.EduPulse.ClassService.model.Attendance;
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.Lecture;
+import com.EduPulse.ClassService.model.dto.CursorPage;
+import com.EduPulse.ClassService.repository.AttendanceRepository;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.repository.LectureRepository;
+import com.EduPulse.ClassService.service.UserServiceClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CursorPageTests {
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    LectureRepository lectureRepository;
+
+    @Autowired
+    AttendanceRepository attendanceRepository;
+
+    @Test
+    void cursorsRoundTripTheirKeys() {
+        LocalDateTime dateTime = LocalDateTime.of(2026, 3, 2, 9, 30);
+
+        String cursor = CursorPage.encodeCursor(dateTime, 42L);
+
+        assertThat(cursor).doesNotContain("|", "=", "+", "/");
+        assertThat(CursorPage.decodeCursor(cursor)).containsExactly(dateTime.toString(), "42");
+        assertThatThrownBy(() -> CursorPage.decodeCursor("not a cursor!"))
+                .hasMessageContaining("Invalid page cursor");
+    }
+
+    @Test
+    void classesPageWalksAllMatchingClassesInIdOrder() throws Exception {
+        // A window no other test uses, so only these classes match
+        LocalDate start = LocalDate.of(2091, 1, 1);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(newClass(start.plusDays(i)).getId());
+        }
+        ClassEntity cancelled = newClass(start);
+        cancelled.setStatus(ClassEntity.ClassStatus.CANCELLED);
+        classRepository.save(cancelled);
+
+        List<Long> walked = walk(limit -> get("/api/classes/page")
+                .param("status", "ACTIVE")
+                .param("from", "2091-01-01")
+                .param("to", "2092-01-01"), 2, 3);
+
+        assertThat(walked).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void lecturesPageOrdersByDateTimeThenId() throws Exception {
+        ClassEntity classEntity = newClass(LocalDate.now());
+        LocalDateTime monday = LocalDateTime.of(2026, 3, 2, 9, 0);
+        // Saved out of order; two share a start time, so the id breaks the tie across a page boundary
+        Long third = newLecture(classEntity, monday.plusDays(2)).getId();
+        Long first = newLecture(classEntity, monday).getId();
+        Long secondA = newLecture(classEntity, monday.plusDays(1)).getId();
+        Long secondB = newLecture(classEntity, monday.plusDays(1)).getId();
+        Long outside = newLecture(classEntity, monday.plusWeeks(3)).getId();
+
+        List<Long> walked = walk(limit -> get("/api/classes/{classId}/lectures/page", classEntity.getId())
+                .param("to", monday.plusWeeks(1).toString()), 2, 2);
+
+        assertThat(walked).containsExactly(first, secondA, secondB, third).doesNotContain(outside);
+    }
+
+    @Test
+    void lectureAttendancePageWalksTheRosterAndFiltersByStatus() throws Exception {
+        Lecture lecture = newLecture(newClass(LocalDate.now()), LocalDateTime.now());
+        List<Long> present = new ArrayList<>();
+        for (long studentId = 8101; studentId <= 8105; studentId++) {
+            present.add(attend(lecture, studentId, Attendance.AttendanceStatus.PRESENT).getId());
+        }
+        attend(lecture, 8106L, Attendance.AttendanceStatus.ABSENT);
+
+        List<Long> walked = walk(limit -> get("/api/classes/lectures/{lectureId}/attendance/page", lecture.getId())
+                .param("status", "PRESENT"), 2, 3);
+
+        assertThat(walked).containsExactlyElementsOf(present);
+    }
+
+    @Test
+    void studentAttendancePageFiltersByClassAcrossPages() throws Exception {
+        ClassEntity algebra = newClass(LocalDate.now());
+        ClassEntity poetry = newClass(LocalDate.now());
+        List<Long> inAlgebra = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            inAlgebra.add(attend(newLecture(algebra, LocalDateTime.now().plusDays(i)), 8201L,
+                    Attendance.AttendanceStatus.LATE).getId());
+            attend(newLecture(poetry, LocalDateTime.now().plusDays(i)), 8201L, Attendance.AttendanceStatus.LATE);
+        }
+
+        List<Long> walked = walk(limit -> get("/api/classes/students/{studentId}/attendance/page", 8201L)
+                .param("classId", algebra.getId().toString())
+                .header("X-User-Id", 8201L), 1, 3);
+
+        assertThat(walked).containsExactlyElementsOf(inAlgebra);
+    }
+
+    /**
+     * Follows nextCursor until the last page and returns the item ids in the order served.
+     * Every page but the last is full and has a cursor; the last one has neither.
+     */
+    private List<Long> walk(Function<Integer, MockHttpServletRequestBuilder> request, int limit,
+                            int expectedPages) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder builder = request.apply(limit).param("limit", String.valueOf(limit));
+            if (cursor != null) {
+                builder.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(builder)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            pages++;
+
+            page.get("items").forEach(item -> ids.add(item.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            assertThat(page.get("hasMore").asBoolean()).isEqualTo(cursor != null);
+            if (cursor != null) {
+                assertThat(page.get("items")).hasSize(limit);
+            }
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(expectedPages);
+        return ids;
+    }
+
+    private ClassEntity newClass(LocalDate startDate) {
+        return classRepository.save(ClassEntity.builder()
+                .name("Paging")
+                .gradeId(81L)
+                .lecturerId(8100L)
+                .startDate(startDate)
+                .endDate(startDate.plusMonths(3))
+                .build());
+    }
+
+    private Lecture newLecture(ClassEntity classEntity, LocalDateTime dateTime) {
+        return lectureRepository.save(Lecture.builder()
+                .classEntity(classEntity)
+                .title("Lecture at " + dateTime)
+                .dateTime(dateTime)
+                .build());
+    }
+
+    private Attendance attend(Lecture lecture, Long studentId, Attendance.AttendanceStatus status) {
+        return attendanceRepository.save(Attendance.builder()
+                .studentId(studentId)
+                .studentName("Student " + studentId)
+                .lecture(lecture)
+                .status(status)
+                .checkInTime(lecture.getDateTime())
+                .build());
+    }
+}
@@ -0,0 +1,146 @@
+package com.EduPulse.ClassService.datasource;
+
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.dto.ClassResponse;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.service.ClassService;
+import com.EduPulse.ClassService.service.UserServiceClient;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Primary and replica are two embedded H2 databases. The replica is a copy of the primary taken
+ * with SCRIPT / RUNSCRIPT, so any later write to the primary plays the part of replication lag.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingTests.PRIMARY_URL,
+        "datasource.replicas.urls=" + ReplicaRoutingTests.REPLICA_URL,
+        "datasource.replicas.sticky-window=PT1M"
+})
+class ReplicaRoutingTests {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    ClassService classService;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    ReadYourWrites readYourWrites;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void unbind() {
+        readYourWrites.clear();
+    }
+
+    @Test
+    void readOnlyTransactionsReadFromTheReplica() throws Exception {
+        Long classId = createClass("Chemistry");
+        replicate();
+
+        rename(classId, "Organic chemistry");
+
+        // The replica has not seen the rename, the primary (read-write transaction) has
+        assertThat(classService.getClassById(classId).getName()).isEqualTo("Chemistry");
+        String primaryName = transactionTemplate.execute(status -> classRepository.findById(classId).orElseThrow().getName());
+        assertThat(primaryName).isEqualTo("Organic chemistry");
+    }
+
+    @Test
+    void writerReadsItsOwnWritesWithinTheStickyWindow() throws Exception {
+        Long classId = createClass("Biology");
+        replicate();
+
+        readYourWrites.bind("501");
+        rename(classId, "Marine biology");
+        readYourWrites.clear();
+
+        // A later request of the same user still goes to the primary ...
+        readYourWrites.bind("501");
+        assertThat(classService.getClassById(classId).getName()).isEqualTo("Marine biology");
+        readYourWrites.clear();
+
+        // ... while other users read the (lagging) replica
+        readYourWrites.bind("502");
+        assertThat(classService.getClassById(classId).getName()).isEqualTo("Biology");
+    }
+
+    @Test
+    void replicaReadsDoNotPopulateTheSecondLevelCache() throws Exception {
+        Long classId = createClass("Botany");
+        replicate();
+        rename(classId, "Plant physiology");
+
+        readYourWrites.bind("503");
+        assertThat(classService.getClassById(classId).getName()).isEqualTo("Botany");
+        assertThat(classService.getClassesByGrade(81L)).extracting(ClassResponse::getName).contains("Botany");
+        readYourWrites.clear();
+
+        // The writer, pinned to the primary, must not be served the replica's rows from the caches
+        readYourWrites.bind("504");
+        readYourWrites.markWrite();
+        assertThat(classService.getClassById(classId).getName()).isEqualTo("Plant physiology");
+        assertThat(classService.getClassesByGrade(81L)).extracting(ClassResponse::getName)
+                .contains("Plant physiology")
+                .doesNotContain("Botany");
+    }
+
+    private Long createClass(String name) {
+        return classRepository.save(ClassEntity.builder()
+                .name(name)
+                .gradeId(81L)
+                .lecturerId(82L)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(3))
+                .build()).getId();
+    }
+
+    private void rename(Long classId, String name) {
+        transactionTemplate.executeWithoutResult(status ->
+                classRepository.findById(classId).orElseThrow().setName(name));
+        // Make the next reads go to a database rather than the second-level cache
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    // Replaces the replica with a snapshot of the primary
+    private void replicate() throws Exception {
+        String script = tempDir.resolve("snapshot-" + System.nanoTime() + ".sql").toString().replace('\\', '/');
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Statement statement = primary.createStatement()) {
+            statement.execute("SCRIPT DROP TO '" + script + "'");
+        }
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("RUNSCRIPT FROM '" + script + "'");
+        }
+    }
+}
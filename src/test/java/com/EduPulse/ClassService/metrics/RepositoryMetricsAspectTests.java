@@ -0,0 +1,96 @@
+package com.EduPulse.ClassService.metrics;
+
+import com.EduPulse.ClassService.repository.AttendanceRollupWriter;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.repository.LectureBatchRepository;
+import com.EduPulse.ClassService.service.UserServiceClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class RepositoryMetricsAspectTests {
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    AttendanceRollupWriter attendanceRollupWriter;
+
+    @Autowired
+    LectureBatchRepository lectureBatchRepository;
+
+    @Test
+    void timesSpringDataAndJdbcRepositoriesByName() {
+        long findById = count("ClassRepository", "findById", "SUCCESS");
+        long findClassIds = count("AttendanceRollupWriter", "findClassIds", "SUCCESS");
+
+        classRepository.findById(Long.MAX_VALUE);
+        attendanceRollupWriter.findClassIds(Long.MAX_VALUE, 1);
+
+        assertThat(count("ClassRepository", "findById", "SUCCESS")).isEqualTo(findById + 1);
+        assertThat(count("AttendanceRollupWriter", "findClassIds", "SUCCESS")).isEqualTo(findClassIds + 1);
+    }
+
+    @Test
+    void failedCallsAreTaggedWithTheirException() {
+        long errors = count("ClassRepository", "save", "ERROR");
+
+        assertThatThrownBy(() -> classRepository.save(null));
+
+        assertThat(count("ClassRepository", "save", "ERROR")).isEqualTo(errors + 1);
+    }
+
+    @Test
+    void repositoriesCalledByARepositoryAreCoveredByTheOuterTimer() {
+        long insertAll = count("LectureBatchRepository", "insertAll", "SUCCESS");
+        long evictions = count("LectureCacheEvictor", "evictAfterJdbcWrite", "SUCCESS");
+
+        lectureBatchRepository.insertAll(Long.MAX_VALUE, List.of());
+
+        assertThat(count("LectureBatchRepository", "insertAll", "SUCCESS")).isEqualTo(insertAll + 1);
+        assertThat(count("LectureCacheEvictor", "evictAfterJdbcWrite", "SUCCESS")).isEqualTo(evictions);
+    }
+
+    @Test
+    void callsInsideARequestAddToItsDatabaseTiming() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        ServerTimings timings = new ServerTimings(System.nanoTime());
+        request.setAttribute(ServerTimings.ATTRIBUTE, timings);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            classRepository.findById(Long.MAX_VALUE);
+            classRepository.count();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        assertThat(timings.toHeaderValue()).contains("desc=\"2 queries\"");
+    }
+
+    private long count(String repository, String method, String outcome) {
+        Timer timer = meterRegistry.find("classservice.repository.invocations")
+                .tag("repository", repository)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
@@ -0,0 +1,133 @@
+package com.EduPulse.ClassService.metrics;
+
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.Lecture;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.repository.LectureRepository;
+import com.EduPulse.ClassService.service.UserServiceClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+// No result printing: it reads the headers while the export and feed threads commit the response
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class ServerTimingTests {
+
+    private static final Pattern HEADER = Pattern.compile(
+            "db;dur=\\d+\\.\\d;desc=\"(\\d+) queries\", remote;dur=\\d+\\.\\d;desc=\"\\d+ calls\", total;dur=\\d+\\.\\d");
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    LectureRepository lectureRepository;
+
+    private ClassEntity classEntity;
+    private Lecture lecture;
+
+    @BeforeEach
+    void createLecture() {
+        classEntity = classRepository.save(ClassEntity.builder()
+                .name("Geology")
+                .gradeId(61L)
+                .lecturerId(6100L)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(3))
+                .build());
+        lecture = lectureRepository.save(Lecture.builder()
+                .classEntity(classEntity)
+                .title("Minerals")
+                .dateTime(LocalDateTime.now().plusDays(1))
+                .build());
+    }
+
+    @Test
+    void jsonResponsesCountTheirRepositoryCalls() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/classes/classes/{id}", classEntity.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(queries(response)).isPositive();
+    }
+
+    @Test
+    void bodilessAndNotModifiedResponsesCarryTheHeader() throws Exception {
+        MockHttpServletResponse accepted = mockMvc.perform(
+                        post("/api/classes/lectures/{lectureId}/attendance/async", lecture.getId())
+                                .header("X-User-Id", 6101L)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"studentId\":6101,\"status\":\"PRESENT\"}"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse();
+        assertThat(queries(accepted)).isZero();
+
+        String etag = mockMvc.perform(get("/api/classes/lectures/{id}", lecture.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        MockHttpServletResponse notModified = mockMvc.perform(get("/api/classes/lectures/{id}", lecture.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn().getResponse();
+        assertThat(queries(notModified)).isPositive();
+    }
+
+    @Test
+    void streamedExportCarriesTheHeader() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/classes/attendance/export")
+                        .param("classId", classEntity.getId().toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+
+        assertThat(queries(started.getResponse())).isPositive();
+    }
+
+    @Test
+    void eventStreamCarriesTheHeader() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/classes/lectures/{lectureId}/attendance/stream", lecture.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!stream.getResponse().getContentAsString().contains("event:snapshot")) {
+            assertThat(System.nanoTime()).as("waiting for the snapshot").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        assertThat(stream.getResponse().getHeader(ServerTimingFilter.HEADER)).matches(HEADER);
+    }
+
+    private static int queries(MockHttpServletResponse response) {
+        String header = response.getHeader(ServerTimingFilter.HEADER);
+        assertThat(header).as("Server-Timing header").isNotNull().matches(HEADER);
+        Matcher matcher = HEADER.matcher(header);
+        assertThat(matcher.matches()).isTrue();
+        return Integer.parseInt(matcher.group(1));
+    }
+}
@@ -0,0 +1,284 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.controller.ClassController;
+import com.EduPulse.ClassService.model.Attendance;
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.Lecture;
+import com.EduPulse.ClassService.model.dto.AttendanceRateResponse;
+import com.EduPulse.ClassService.model.dto.AttendanceRequest;
+import com.EduPulse.ClassService.repository.AttendanceBatchRepository;
+import com.EduPulse.ClassService.repository.AttendanceRepository;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.repository.LectureRepository;
+import com.EduPulse.ClassService.support.StubUserServiceClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class AttendanceIngestionTests {
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    AttendanceIngestionService attendanceIngestionService;
+
+    @Autowired
+    AttendanceRollupService attendanceRollupService;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    LectureRepository lectureRepository;
+
+    @Autowired
+    AttendanceRepository attendanceRepository;
+
+    @Autowired
+    AttendanceBatchRepository attendanceBatchRepository;
+
+    @Autowired
+    UserLookupService userLookupService;
+
+    @Autowired
+    DeadlockRetry deadlockRetry;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    ClassService classService;
+
+    @Autowired
+    AttendanceExportService attendanceExportService;
+
+    @Autowired
+    AttendanceFeedHub attendanceFeedHub;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void repeatedCheckInsAreCoalescedAndWrittenOnce() {
+        Lecture lecture = newLecture();
+
+        assertThat(attendanceIngestionService.submit(lecture.getId(), request(5101L, "ABSENT"))).isTrue();
+        assertThat(attendanceIngestionService.submit(lecture.getId(), request(5101L, "LATE"))).isTrue();
+        assertThat(attendanceIngestionService.submit(lecture.getId(), request(5101L, "PRESENT"))).isTrue();
+        assertThat(attendanceIngestionService.submit(lecture.getId(), request(5102L, "LATE"))).isTrue();
+        assertThat(attendanceIngestionService.pendingCount()).isEqualTo(2);
+
+        attendanceIngestionService.flush();
+
+        List<Attendance> rows = attendanceRepository.findByLectureId(lecture.getId());
+        assertThat(rows).hasSize(2);
+        assertThat(rows).filteredOn(row -> row.getStudentId().equals(5101L))
+                .singleElement()
+                .satisfies(row -> {
+                    assertThat(row.getStatus()).isEqualTo(Attendance.AttendanceStatus.PRESENT);
+                    assertThat(row.getStudentName()).isEqualTo("Student 5101");
+                });
+        assertThat(attendanceIngestionService.pendingCount()).isZero();
+
+        AttendanceRateResponse rate = attendanceRollupService.getLectureRate(lecture.getId());
+        assertThat(rate.getPresentCount()).isEqualTo(1);
+        assertThat(rate.getLateCount()).isEqualTo(1);
+    }
+
+    @Test
+    void checkInsForUnknownLecturesAreDropped() {
+        Lecture lecture = newLecture();
+
+        attendanceIngestionService.submit(lecture.getId(), request(5201L, "PRESENT"));
+        attendanceIngestionService.submit(Long.MAX_VALUE, request(5202L, "PRESENT"));
+        attendanceIngestionService.flush();
+
+        assertThat(attendanceRepository.findByLectureId(lecture.getId())).hasSize(1);
+        assertThat(attendanceRepository.findByStudentId(5202L)).isEmpty();
+        assertThat(attendanceIngestionService.pendingCount()).isZero();
+    }
+
+    @Test
+    void checkInsOfAFailedChunkAreRequeuedAndUnknownStudentsDropped() throws Exception {
+        Lecture lecture = newLecture();
+        StubUserServiceClient stub = StubUserServiceClient.shared();
+        AttendanceIngestionService service = newService(100, null);
+        service.afterPropertiesSet();
+        try {
+            userLookupService.getStudents(List.of(5701L));  // cached, needs no call
+            stub.failStudentOnce(5702L);
+            stub.omitStudentOnce(5703L);
+            service.submit(lecture.getId(), request(5701L, "PRESENT"));
+            service.submit(lecture.getId(), request(5702L, "PRESENT"));
+            service.submit(lecture.getId(), request(5703L, "PRESENT"));
+
+            // The chunk asking for 5702 and 5703 failed: both wait for the next batch
+            service.flush();
+            assertThat(attendanceRepository.findByLectureId(lecture.getId()))
+                    .extracting(Attendance::getStudentId)
+                    .containsExactly(5701L);
+            assertThat(service.pendingCount()).isEqualTo(2);
+
+            // Answered this time, without 5703
+            service.flush();
+            assertThat(attendanceRepository.findByLectureId(lecture.getId()))
+                    .extracting(Attendance::getStudentId)
+                    .containsExactlyInAnyOrder(5701L, 5702L);
+            assertThat(service.pendingCount()).isZero();
+        } finally {
+            stub.reset();
+            service.destroy();
+        }
+    }
+
+    @Test
+    void fullQueueRefusesNewCheckInsButTakesRepeats() throws Exception {
+        Lecture lecture = newLecture();
+        AttendanceIngestionService service = newService(2, null);
+        service.afterPropertiesSet();
+        try {
+            assertThat(service.submit(lecture.getId(), request(5301L, "PRESENT"))).isTrue();
+            assertThat(service.submit(lecture.getId(), request(5302L, "PRESENT"))).isTrue();
+
+            assertThat(service.submit(lecture.getId(), request(5303L, "PRESENT"))).isFalse();
+            // A repeat replaces its pending entry and needs no free slot
+            assertThat(service.submit(lecture.getId(), request(5301L, "LATE"))).isTrue();
+            assertThat(service.pendingCount()).isEqualTo(2);
+
+            service.flush();
+            assertThat(service.submit(lecture.getId(), request(5303L, "PRESENT"))).isTrue();
+        } finally {
+            service.destroy();
+        }
+    }
+
+    @Test
+    void fullQueueAnswers503WithRetryAfter() throws Exception {
+        Lecture lecture = newLecture();
+        AttendanceIngestionService service = newService(1, null);
+        service.afterPropertiesSet();
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ClassController(classService, attendanceExportService,
+                service, attendanceRollupService, attendanceFeedHub)).build();
+        try {
+            mockMvc.perform(post("/api/classes/lectures/{lectureId}/attendance/async", lecture.getId())
+                            .header("X-User-Id", 5401L)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"studentId\":5401,\"status\":\"PRESENT\"}"))
+                    .andExpect(status().isAccepted());
+            mockMvc.perform(post("/api/classes/lectures/{lectureId}/attendance/async", lecture.getId())
+                            .header("X-User-Id", 5402L)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"studentId\":5402,\"status\":\"PRESENT\"}"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        } finally {
+            service.destroy();
+        }
+    }
+
+    @Test
+    void shutdownDrainsTheQueueAndThenRefuses() throws Exception {
+        Lecture lecture = newLecture();
+        AttendanceIngestionService service = newService(100, null);
+        service.afterPropertiesSet();
+
+        service.submit(lecture.getId(), request(5501L, "PRESENT"));
+        service.submit(lecture.getId(), request(5502L, "ABSENT"));
+        service.destroy();
+
+        assertThat(service.pendingCount()).isZero();
+        assertThat(attendanceRepository.findByLectureId(lecture.getId()))
+                .extracting(Attendance::getStudentId)
+                .containsExactlyInAnyOrder(5501L, 5502L);
+        assertThat(service.submit(lecture.getId(), request(5503L, "PRESENT"))).isFalse();
+    }
+
+    @Test
+    void journaledCheckInsAreReplayedAfterARestart() throws Exception {
+        Lecture lecture = newLecture();
+        Path journal = directory.resolve("ingest.journal");
+
+        // Acknowledged, then the process dies before the writer ran
+        AttendanceIngestionService crashed = newService(100, journal);
+        crashed.afterPropertiesSet();
+        assertThat(crashed.submit(lecture.getId(), request(5601L, "PRESENT"))).isTrue();
+        assertThat(crashed.submit(lecture.getId(), request(5602L, "LATE"))).isTrue();
+        assertThat(Files.readAllLines(journal, StandardCharsets.UTF_8)).hasSize(2);
+
+        AttendanceIngestionService restarted = newService(100, journal);
+        restarted.afterPropertiesSet();
+        try {
+            assertThat(restarted.pendingCount()).isEqualTo(2);
+
+            restarted.flush();
+
+            assertThat(attendanceRepository.findByLectureId(lecture.getId()))
+                    .extracting(Attendance::getStudentId, Attendance::getStatus)
+                    .containsExactlyInAnyOrder(
+                            tuple(5601L, Attendance.AttendanceStatus.PRESENT),
+                            tuple(5602L, Attendance.AttendanceStatus.LATE));
+            // Stored check-ins leave the journal
+            assertThat(Files.readAllLines(journal, StandardCharsets.UTF_8)).isEmpty();
+        } finally {
+            restarted.destroy();
+            crashed.destroy();
+        }
+    }
+
+    // A private instance with its own limits, wired to the shared repositories
+    private AttendanceIngestionService newService(int capacity, Path journal) {
+        return new AttendanceIngestionService(lectureRepository, attendanceBatchRepository, attendanceRollupService,
+                userLookupService, deadlockRetry, eventPublisher,
+                capacity, 500, 10, Duration.ofHours(1), Duration.ofMillis(20), Duration.ofSeconds(10),
+                journal != null, journal != null ? journal : directory.resolve("unused.journal"),
+                DataSize.ofMegabytes(8), new SimpleMeterRegistry());
+    }
+
+    private Lecture newLecture() {
+        ClassEntity classEntity = classRepository.save(ClassEntity.builder()
+                .name("Geography")
+                .gradeId(1L)
+                .lecturerId(2L)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(3))
+                .build());
+
+        return lectureRepository.save(Lecture.builder()
+                .classEntity(classEntity)
+                .title("Rivers")
+                .dateTime(LocalDateTime.now().plusDays(1))
+                .build());
+    }
+
+    private static AttendanceRequest request(Long studentId, String status) {
+        AttendanceRequest request = new AttendanceRequest();
+        request.setStudentId(studentId);
+        request.setStatus(status);
+        return request;
+    }
+}
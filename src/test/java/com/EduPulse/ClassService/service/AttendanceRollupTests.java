@@ -0,0 +1,214 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.Lecture;
+import com.EduPulse.ClassService.model.dto.AttendanceRateResponse;
+import com.EduPulse.ClassService.model.dto.AttendanceRequest;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.repository.LectureRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AttendanceRollupTests {
+
+    private static final AtomicLong NEXT_STUDENT = new AtomicLong(7700);
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ClassService classService;
+
+    @Autowired
+    AttendanceRollupService attendanceRollupService;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    LectureRepository lectureRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private ClassEntity classEntity;
+    private Lecture first;
+    private Lecture second;
+
+    @BeforeEach
+    void createLectures() {
+        classEntity = classRepository.save(ClassEntity.builder()
+                .name("Statistics")
+                .gradeId(77L)
+                .lecturerId(7700L)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(3))
+                .build());
+        first = newLecture("Means");
+        second = newLecture("Variance");
+    }
+
+    @Test
+    void newMarksAddToTheLectureAndStudentCounts() {
+        long ada = NEXT_STUDENT.incrementAndGet();
+        long bob = NEXT_STUDENT.incrementAndGet();
+
+        classService.markAttendance(first.getId(), request(ada, "PRESENT"));
+        classService.markAttendance(first.getId(), request(bob, "LATE"));
+        classService.markAttendance(second.getId(), request(ada, "ABSENT"));
+
+        assertRate(attendanceRollupService.getLectureRate(first.getId()), 1, 1, 0);
+        assertRate(attendanceRollupService.getLectureRate(second.getId()), 0, 0, 1);
+        assertRate(attendanceRollupService.getStudentClassRate(ada, classEntity.getId()), 1, 0, 1);
+        assertRate(attendanceRollupService.getStudentClassRate(bob, classEntity.getId()), 0, 1, 0);
+    }
+
+    @Test
+    void statusChangesMoveOneCountAndRepeatsChangeNothing() {
+        long ada = NEXT_STUDENT.incrementAndGet();
+
+        classService.markAttendance(first.getId(), request(ada, "ABSENT"));
+        classService.markAttendance(first.getId(), request(ada, "LATE"));
+        classService.markAttendance(first.getId(), request(ada, "LATE"));
+
+        assertRate(attendanceRollupService.getLectureRate(first.getId()), 0, 1, 0);
+        assertRate(attendanceRollupService.getStudentClassRate(ada, classEntity.getId()), 0, 1, 0);
+
+        // The bulk path reports the same moves
+        classService.markAttendanceBulk(first.getId(), List.of(request(ada, "PRESENT")));
+        assertRate(attendanceRollupService.getLectureRate(first.getId()), 1, 0, 0);
+        assertRate(attendanceRollupService.getStudentClassRate(ada, classEntity.getId()), 1, 0, 0);
+    }
+
+    @Test
+    void rateEndpointsReadTheRollups() throws Exception {
+        long ada = NEXT_STUDENT.incrementAndGet();
+        long bob = NEXT_STUDENT.incrementAndGet();
+        classService.markAttendance(first.getId(), request(ada, "PRESENT"));
+        classService.markAttendance(first.getId(), request(bob, "ABSENT"));
+
+        mockMvc.perform(get("/api/classes/lectures/{lectureId}/attendance-rate", first.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lectureId").value(first.getId()))
+                .andExpect(jsonPath("$.presentCount").value(1))
+                .andExpect(jsonPath("$.absentCount").value(1))
+                .andExpect(jsonPath("$.totalCount").value(2))
+                .andExpect(jsonPath("$.attendanceRate").value(0.5));
+
+        mockMvc.perform(get("/api/classes/students/{studentId}/classes/{classId}/attendance-rate",
+                        ada, classEntity.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.studentId").value(ada))
+                .andExpect(jsonPath("$.classId").value(classEntity.getId()))
+                .andExpect(jsonPath("$.totalCount").value(1))
+                .andExpect(jsonPath("$.attendanceRate").value(1.0));
+
+        // Nothing marked yet reads as zero, not as an error
+        mockMvc.perform(get("/api/classes/lectures/{lectureId}/attendance-rate", second.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCount").value(0))
+                .andExpect(jsonPath("$.attendanceRate").value(0.0));
+    }
+
+    @Test
+    void rebuildRepairsDriftedCounts() {
+        long ada = NEXT_STUDENT.incrementAndGet();
+        classService.markAttendance(first.getId(), request(ada, "PRESENT"));
+        jdbcTemplate.update("UPDATE attendance_lecture_rollup SET present_count = 40 WHERE lecture_id = ?", first.getId());
+        jdbcTemplate.update("UPDATE attendance_student_class_rollup SET absent_count = 3 WHERE student_id = ?", ada);
+
+        attendanceRollupService.rebuild();
+
+        assertRate(attendanceRollupService.getLectureRate(first.getId()), 1, 0, 0);
+        assertRate(attendanceRollupService.getStudentClassRate(ada, classEntity.getId()), 1, 0, 0);
+    }
+
+    @Test
+    void markingThatCommitsDuringARebuildIsCountedOnce() throws Exception {
+        long ada = NEXT_STUDENT.incrementAndGet();
+        long bob = NEXT_STUDENT.incrementAndGet();
+        classService.markAttendance(first.getId(), request(ada, "ABSENT"));
+        classService.markAttendance(first.getId(), request(bob, "PRESENT"));
+
+        CountDownLatch marked = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        try (ExecutorService pool = Executors.newFixedThreadPool(2)) {
+            // A marking holds its row lock and its delta, uncommitted, while the rebuild starts
+            Future<?> marking = pool.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                classService.markAttendance(first.getId(), request(ada, "PRESENT"));
+                marked.countDown();
+                await(commit);
+            }));
+            assertThat(marked.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<?> rebuild = pool.submit(() -> attendanceRollupService.rebuild());
+
+            TimeUnit.MILLISECONDS.sleep(200);
+            commit.countDown();
+            marking.get(10, TimeUnit.SECONDS);
+            rebuild.get(30, TimeUnit.SECONDS);
+        }
+
+        assertRate(attendanceRollupService.getLectureRate(first.getId()), 2, 0, 0);
+        assertRate(attendanceRollupService.getStudentClassRate(ada, classEntity.getId()), 1, 0, 0);
+    }
+
+    private Lecture newLecture(String title) {
+        return lectureRepository.save(Lecture.builder()
+                .classEntity(classEntity)
+                .title(title)
+                .dateTime(LocalDateTime.now().plusDays(1))
+                .build());
+    }
+
+    private static void assertRate(AttendanceRateResponse rate, long present, long late, long absent) {
+        assertThat(rate.getPresentCount()).isEqualTo(present);
+        assertThat(rate.getLateCount()).isEqualTo(late);
+        assertThat(rate.getAbsentCount()).isEqualTo(absent);
+        assertThat(rate.getTotalCount()).isEqualTo(present + late + absent);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static AttendanceRequest request(Long studentId, String status) {
+        AttendanceRequest request = new AttendanceRequest();
+        request.setStudentId(studentId);
+        request.setStatus(status);
+        return request;
+    }
+}
@@ -0,0 +1,59 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.Attendance;
+import com.EduPulse.ClassService.service.AttendanceIngestionService.CheckIn;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckInJournalTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void acknowledgedCheckInsSurviveARestart() throws Exception {
+        Path path = directory.resolve("ingest.journal");
+        CheckIn first = checkIn(1L, Attendance.AttendanceStatus.PRESENT);
+        CheckIn second = checkIn(2L, Attendance.AttendanceStatus.LATE);
+
+        try (CheckInJournal journal = new CheckInJournal(path)) {
+            journal.append(first);
+            journal.append(second);
+        }
+        // A crash in the middle of an append leaves a torn last line
+        Files.writeString(path, "7|3|PRES", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (CheckInJournal reopened = new CheckInJournal(path)) {
+            assertThat(reopened.replay()).containsExactly(first, second);
+        }
+    }
+
+    @Test
+    void rewriteKeepsOnlyTheGivenEntries() throws Exception {
+        Path path = directory.resolve("ingest.journal");
+        CheckIn written = checkIn(1L, Attendance.AttendanceStatus.PRESENT);
+        CheckIn queued = checkIn(2L, Attendance.AttendanceStatus.ABSENT);
+
+        try (CheckInJournal journal = new CheckInJournal(path)) {
+            journal.append(written);
+            journal.append(queued);
+            journal.rewrite(List.of(queued));
+            journal.append(written);
+
+            assertThat(journal.replay()).containsExactly(queued, written);
+        }
+    }
+
+    private static CheckIn checkIn(Long studentId, Attendance.AttendanceStatus status) {
+        return new CheckIn(7L, studentId, status, LocalDateTime.of(2026, 3, 2, 8, 59, 30), 0);
+    }
+}
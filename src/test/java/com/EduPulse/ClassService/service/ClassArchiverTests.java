@@ -0,0 +1,216 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.Attendance;
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.Lecture;
+import com.EduPulse.ClassService.model.dto.AttendanceResponse;
+import com.EduPulse.ClassService.model.dto.LectureResponse;
+import com.EduPulse.ClassService.repository.AttendanceRepository;
+import com.EduPulse.ClassService.repository.ClassArchiveWriter;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.repository.LectureRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ClassArchiverTests {
+
+    private static final AtomicLong NEXT_STUDENT = new AtomicLong(2500);
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    ClassService classService;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    LectureRepository lectureRepository;
+
+    @Autowired
+    AttendanceRepository attendanceRepository;
+
+    @Autowired
+    AttendanceRollupService attendanceRollupService;
+
+    @Autowired
+    ClassArchiveWriter classArchiveWriter;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    AttendanceExportService attendanceExportService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void movesLecturesAndAttendanceOfLongArchivedClassesInChunks() {
+        long[] students = students(5);
+        ClassEntity classEntity = classWithAttendance(3, students);
+        List<AttendanceResponse> history = classService.getAttendanceForStudent(students[0]);
+        // Cache the lectures collection, which the JDBC move has to evict
+        assertThat(classService.getLecturesByClass(classEntity.getId())).hasSize(3);
+        archive(classEntity, Duration.ofDays(100));
+
+        archiver(4).archive();
+
+        assertThat(lectureRepository.countByClassEntityId(classEntity.getId())).isZero();
+        assertThat(classService.getLecturesByClass(classEntity.getId())).isEmpty();
+        assertThat(classService.getAttendanceForStudent(students[0])).isEmpty();
+        assertThat(meterRegistry.counter("classservice.archive.moved", "table", "attendance").count()).isEqualTo(15);
+        assertThat(meterRegistry.counter("classservice.archive.moved", "table", "lectures").count()).isEqualTo(3);
+
+        // History reads see the same rows, ids and titles as before
+        assertThat(classService.getAttendanceForStudent(students[0], true))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(history);
+        assertThat(classService.getLecturesByClass(classEntity.getId(), true))
+                .hasSize(3)
+                .isSortedAccordingTo((a, b) -> a.getDateTime().compareTo(b.getDateTime()));
+        assertThat(classService.getLecturesByClass(classEntity.getId(),
+                FieldSelection.parse("title", FieldSelection.LECTURE_FIELDS), true))
+                .extracting(row -> row.get("id"))
+                .containsExactlyElementsOf(classService.getLecturesByClass(classEntity.getId(), true).stream()
+                        .map(LectureResponse::getId)
+                        .toList());
+    }
+
+    @Test
+    void lectureAttendanceIsOnlyFoundInTheArchiveWhenAskedFor() {
+        long[] students = students(5);
+        ClassEntity classEntity = classWithAttendance(1, students);
+        Long lectureId = classService.getLecturesByClass(classEntity.getId()).getFirst().getId();
+        archive(classEntity, Duration.ofDays(100));
+
+        archiver(1000).archive();
+
+        assertThatThrownBy(() -> classService.getAttendanceForLecture(lectureId))
+                .hasMessageContaining("Lecture not found");
+        assertThat(classService.getAttendanceForLecture(lectureId, true))
+                .hasSize(5)
+                .allSatisfy(row -> {
+                    assertThat(row.getLectureId()).isEqualTo(lectureId);
+                    assertThat(row.getLectureTitle()).isEqualTo("Lecture 0");
+                    assertThat(row.getStudentName()).isEqualTo("Student " + row.getStudentId());
+                });
+
+        // The nightly rollup rebuild still counts the archived rows
+        attendanceRollupService.rebuild();
+        assertThat(attendanceRollupService.getLectureRate(lectureId).getTotalCount()).isEqualTo(5);
+    }
+
+    @Test
+    void halfArchivedLectureMergesHotAndArchivedAttendance() throws Exception {
+        long[] students = students(5);
+        ClassEntity classEntity = classWithAttendance(1, students);
+        Long lectureId = classService.getLecturesByClass(classEntity.getId()).getFirst().getId();
+        archive(classEntity, Duration.ofDays(100));
+
+        // An archiver run cut short after its first chunk: the lecture is still hot, two rows are not
+        transactionTemplate.execute(status -> classArchiveWriter.moveAttendance(classEntity.getId(), 2));
+
+        assertThat(classService.getAttendanceForLecture(lectureId)).hasSize(3);
+        assertThat(classService.getAttendanceForLecture(lectureId, true))
+                .extracting(AttendanceResponse::getStudentId)
+                .containsExactly(students[0], students[1], students[2], students[3], students[4]);
+        assertThat(export(classEntity.getId(), true)).hasSize(5);
+    }
+
+    @Test
+    void archivedClassKeepsItsLectureCountAndIsExportedWhenAskedFor() throws Exception {
+        ClassEntity classEntity = classWithAttendance(3, students(2));
+        archive(classEntity, Duration.ofDays(100));
+
+        archiver(1000).archive();
+
+        assertThat(classService.getClassById(classEntity.getId()).getLectureCount()).isEqualTo(3);
+        assertThat(export(classEntity.getId(), false)).isEmpty();
+        assertThat(export(classEntity.getId(), true)).hasSize(6);
+    }
+
+    @Test
+    void recentlyArchivedAndActiveClassesStayHot() {
+        ClassEntity recent = classWithAttendance(2, students(3));
+        archive(recent, Duration.ofDays(10));
+        ClassEntity active = classWithAttendance(2, students(3));
+
+        archiver(1000).archive();
+
+        assertThat(lectureRepository.countByClassEntityId(recent.getId())).isEqualTo(2);
+        assertThat(lectureRepository.countByClassEntityId(active.getId())).isEqualTo(2);
+        assertThat(classService.getLecturesByClass(recent.getId(), true)).hasSize(2);
+    }
+
+    // NDJSON lines of the class's attendance export
+    private List<String> export(Long classId, boolean includeArchived) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        attendanceExportService.export(classId, null, null, null, includeArchived,
+                AttendanceExportService.ExportFormat.NDJSON).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private ClassArchiver archiver(int chunkSize) {
+        return new ClassArchiver(classArchiveWriter, transactionTemplate, Duration.ofDays(90), chunkSize,
+                meterRegistry);
+    }
+
+    private void archive(ClassEntity classEntity, Duration ago) {
+        classService.deleteClass(classEntity.getId());
+        ClassEntity archived = classRepository.findById(classEntity.getId()).orElseThrow();
+        assertThat(archived.getArchivedAt()).isNotNull();
+        archived.setArchivedAt(LocalDateTime.now().minus(ago));
+        classRepository.save(archived);
+    }
+
+    private ClassEntity classWithAttendance(int lectures, long[] students) {
+        ClassEntity classEntity = classRepository.save(ClassEntity.builder()
+                .name("History")
+                .gradeId(25L)
+                .lecturerId(2525L)
+                .startDate(LocalDate.now().minusMonths(6))
+                .endDate(LocalDate.now().minusMonths(3))
+                .build());
+
+        for (int i = 0; i < lectures; i++) {
+            Lecture lecture = lectureRepository.save(Lecture.builder()
+                    .classEntity(classEntity)
+                    .title("Lecture " + i)
+                    .dateTime(LocalDateTime.now().minusMonths(5).plusWeeks(lectures - i))
+                    .build());
+            attendanceRepository.saveAll(LongStream.of(students)
+                    .mapToObj(studentId -> Attendance.builder()
+                            .studentId(studentId)
+                            .studentName("Student " + studentId)
+                            .lecture(lecture)
+                            .status(Attendance.AttendanceStatus.PRESENT)
+                            .checkInTime(lecture.getDateTime())
+                            .build())
+                    .toList());
+        }
+        return classEntity;
+    }
+
+    private static long[] students(int count) {
+        return LongStream.range(0, count).map(i -> NEXT_STUDENT.incrementAndGet()).toArray();
+    }
+}
@@ -0,0 +1,144 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.Attendance;
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.Lecture;
+import com.EduPulse.ClassService.model.dto.ClassDashboardResponse;
+import com.EduPulse.ClassService.repository.AttendanceBatchRepository;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.repository.LectureRepository;
+import com.EduPulse.ClassService.support.StubUserServiceClient;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.convention.TestBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The 250 ms latency budget is measured by ClassDashboardBenchmark in the benchmarks profile
+@SpringBootTest
+class ClassDashboardTests {
+
+    private static final int LECTURES = 60;
+    private static final int STUDENTS = 400;
+
+    // Seeded once: 60 lectures x 400 students
+    private static Long classId;
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    ClassService classService;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    LectureRepository lectureRepository;
+
+    @Autowired
+    AttendanceBatchRepository attendanceBatchRepository;
+
+    @Autowired
+    AttendanceRollupService attendanceRollupService;
+
+    @Autowired
+    UserLookupService userLookupService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private final StubUserServiceClient stub = StubUserServiceClient.shared();
+
+    @BeforeEach
+    void seedClass() {
+        if (classId != null) {
+            return;
+        }
+
+        ClassEntity classEntity = classRepository.save(ClassEntity.builder()
+                .name("Chemistry")
+                .gradeId(61L)
+                .lecturerId(6101L)      // no name snapshots: both names go to user-service
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(6))
+                .build());
+
+        List<Lecture> lectures = lectureRepository.saveAll(IntStream.range(0, LECTURES)
+                .mapToObj(i -> Lecture.builder()
+                        .classEntity(classEntity)
+                        .title("Lecture " + i)
+                        .dateTime(LocalDateTime.now().plusDays(LECTURES - i))
+                        .build())
+                .toList());
+
+        // Every 10th student absent, the next one late, the rest present
+        for (Lecture lecture : lectures) {
+            List<Attendance> attendances = LongStream.rangeClosed(1, STUDENTS)
+                    .mapToObj(studentId -> Attendance.builder()
+                            .studentId(studentId)
+                            .studentName("Student " + studentId)
+                            .status(studentId % 10 == 0 ? Attendance.AttendanceStatus.ABSENT
+                                    : studentId % 10 == 1 ? Attendance.AttendanceStatus.LATE
+                                    : Attendance.AttendanceStatus.PRESENT)
+                            .checkInTime(LocalDateTime.now())
+                            .build())
+                    .toList();
+            attendanceBatchRepository.upsertAll(lecture.getId(), attendances);
+            attendanceRollupService.recordStatusChanges(attendances.stream()
+                    .map(attendance -> new AttendanceRollupService.StatusChange(attendance.getStudentId(),
+                            classEntity.getId(), lecture.getId(), null, attendance.getStatus()))
+                    .toList());
+        }
+        classId = classEntity.getId();
+    }
+
+    @AfterEach
+    void resetStub() {
+        stub.reset();
+    }
+
+    @Test
+    void dashboardIsAFixedNumberOfQueriesAndOneLookupPerName() {
+        userLookupService.evictAll();
+        stub.reset();
+        Statistics statistics = statistics();
+
+        ClassDashboardResponse dashboard = classService.getClassDashboard(classId);
+
+        assertThat(dashboard.getClassInfo().getLectureCount()).isEqualTo(LECTURES);
+        assertThat(dashboard.getClassInfo().getGradeName()).isEqualTo("Grade 61");
+        assertThat(dashboard.getClassInfo().getLecturerName()).isEqualTo("Lecturer 6101");
+        assertThat(dashboard.getLectures()).hasSize(LECTURES)
+                .isSortedAccordingTo((a, b) -> a.getDateTime().compareTo(b.getDateTime()))
+                .allSatisfy(lecture -> {
+                    assertThat(lecture.getPresentCount()).isEqualTo(320);
+                    assertThat(lecture.getLateCount()).isEqualTo(40);
+                    assertThat(lecture.getAbsentCount()).isEqualTo(40);
+                });
+
+        // Class (unless served by the second-level cache), lecture rows, rollups
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        assertThat(stub.calls("validateGrade")).isEqualTo(1);
+        assertThat(stub.calls("validateLecturer")).isEqualTo(1);
+        assertThat(stub.totalCalls()).isEqualTo(2);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
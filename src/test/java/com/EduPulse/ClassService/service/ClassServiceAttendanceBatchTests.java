@@ -0,0 +1,123 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.Attendance;
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.Lecture;
+import com.EduPulse.ClassService.model.dto.AttendanceResponse;
+import com.EduPulse.ClassService.repository.AttendanceRepository;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.repository.LectureRepository;
+import com.EduPulse.ClassService.support.StubUserServiceClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.convention.TestBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ClassServiceAttendanceBatchTests {
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    ClassService classService;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    LectureRepository lectureRepository;
+
+    @Autowired
+    AttendanceRepository attendanceRepository;
+
+    @Autowired
+    UserLookupService userLookupService;
+
+    private final StubUserServiceClient stub = StubUserServiceClient.shared();
+
+    @BeforeEach
+    void resetStub() {
+        stub.reset();
+        userLookupService.evictAll();
+    }
+
+    @Test
+    void lectureAttendanceResolvesStudentsInChunksInsteadOfPerRow() {
+        Lecture lecture = lectureWithAttendance(300);
+        stub.reset();
+
+        List<AttendanceResponse> response = classService.getAttendanceForLecture(lecture.getId());
+
+        assertThat(response).hasSize(300);
+        assertThat(response).allSatisfy(row ->
+                assertThat(row.getStudentName()).isEqualTo("Student " + row.getStudentId()));
+        // 300 distinct students with the default chunk size of 100
+        assertThat(stub.calls("getStudentsByIds")).isEqualTo(3);
+        assertThat(stub.calls("validateStudent")).isZero();
+    }
+
+    @Test
+    void downstreamCallsDoNotGrowWithRowCount() {
+        Lecture small = lectureWithAttendance(10);
+        Lecture large = lectureWithAttendance(90);
+        stub.reset();
+
+        classService.getAttendanceForLecture(small.getId());
+        int smallCalls = stub.totalCalls();
+        stub.reset();
+
+        classService.getAttendanceForLecture(large.getId());
+
+        assertThat(smallCalls).isEqualTo(1);
+        // Students 1001-1010 are already cached, so only the other 80 are fetched
+        assertThat(stub.totalCalls()).isEqualTo(smallCalls);
+    }
+
+    @Test
+    void repeatedViewsAreServedFromTheNearCache() {
+        Lecture lecture = lectureWithAttendance(50);
+        stub.reset();
+        long hitsBefore = userLookupService.stats().get("students").hitCount();
+
+        classService.getAttendanceForLecture(lecture.getId());
+        classService.getAttendanceForLecture(lecture.getId());
+
+        assertThat(stub.calls("getStudentsByIds")).isEqualTo(1);
+        assertThat(userLookupService.stats().get("students").hitCount() - hitsBefore).isEqualTo(50);
+    }
+
+    private Lecture lectureWithAttendance(int students) {
+        ClassEntity classEntity = classRepository.save(ClassEntity.builder()
+                .name("Physics")
+                .gradeId(1L)
+                .lecturerId(2L)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(3))
+                .build());
+
+        Lecture lecture = lectureRepository.save(Lecture.builder()
+                .classEntity(classEntity)
+                .title("Kinematics")
+                .dateTime(LocalDateTime.now().plusDays(1))
+                .build());
+
+        attendanceRepository.saveAll(LongStream.rangeClosed(1, students)
+                .mapToObj(studentId -> Attendance.builder()
+                        .studentId(1000 + studentId)
+                        .lecture(lecture)
+                        .status(Attendance.AttendanceStatus.PRESENT)
+                        .checkInTime(LocalDateTime.now())
+                        .build())
+                .toList());
+        return lecture;
+    }
+}
@@ -0,0 +1,122 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.Lecture;
+import com.EduPulse.ClassService.model.dto.AttendanceRateResponse;
+import com.EduPulse.ClassService.model.dto.AttendanceRequest;
+import com.EduPulse.ClassService.repository.AttendanceRepository;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.repository.LectureRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.convention.TestBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ClassServiceAttendanceUpsertTests {
+
+    private static final int THREADS = 32;
+    private static final int CHECK_INS_PER_THREAD = 25;
+    private static final int STUDENTS = 20;
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    ClassService classService;
+
+    @Autowired
+    AttendanceRollupService attendanceRollupService;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    LectureRepository lectureRepository;
+
+    @Autowired
+    AttendanceRepository attendanceRepository;
+
+    @Test
+    void concurrentCheckInsLeaveOneRowPerStudent() throws Exception {
+        Lecture lecture = newLecture();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(THREADS)) {
+            for (int thread = 0; thread < THREADS; thread++) {
+                int offset = thread;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < CHECK_INS_PER_THREAD; i++) {
+                        long studentId = 5000 + (offset + i) % STUDENTS;
+                        classService.markAttendance(lecture.getId(), request(studentId, i % 2 == 0 ? "PRESENT" : "LATE"));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        }
+
+        assertThat(attendanceRepository.findByLectureId(lecture.getId())).hasSize(STUDENTS);
+        for (long studentId = 5000; studentId < 5000 + STUDENTS; studentId++) {
+            assertThat(attendanceRepository.findByStudentIdAndLectureId(studentId, lecture.getId())).isPresent();
+        }
+
+        // Rollups count each student exactly once, whatever their last status was
+        AttendanceRateResponse rate = attendanceRollupService.getLectureRate(lecture.getId());
+        assertThat(rate.getTotalCount()).isEqualTo(STUDENTS);
+        assertThat(rate.getAttendanceRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    void markingAgainMovesTheStudentBetweenStatuses() {
+        Lecture lecture = newLecture();
+
+        classService.markAttendance(lecture.getId(), request(6000L, "PRESENT"));
+        classService.markAttendance(lecture.getId(), request(6000L, "ABSENT"));
+
+        AttendanceRateResponse rate = attendanceRollupService.getStudentClassRate(
+                6000L, lecture.getClassEntity().getId());
+        assertThat(rate.getPresentCount()).isZero();
+        assertThat(rate.getAbsentCount()).isEqualTo(1);
+        assertThat(attendanceRepository.findByLectureId(lecture.getId())).hasSize(1);
+    }
+
+    private Lecture newLecture() {
+        ClassEntity classEntity = classRepository.save(ClassEntity.builder()
+                .name("Chemistry")
+                .gradeId(1L)
+                .lecturerId(2L)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(3))
+                .build());
+
+        return lectureRepository.save(Lecture.builder()
+                .classEntity(classEntity)
+                .title("Stoichiometry")
+                .dateTime(LocalDateTime.now().plusDays(1))
+                .build());
+    }
+
+    private static AttendanceRequest request(Long studentId, String status) {
+        AttendanceRequest request = new AttendanceRequest();
+        request.setStudentId(studentId);
+        request.setStatus(status);
+        return request;
+    }
+}
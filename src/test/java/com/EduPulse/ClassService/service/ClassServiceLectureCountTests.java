@@ -0,0 +1,79 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.Lecture;
+import com.EduPulse.ClassService.model.dto.ClassResponse;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.repository.LectureRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.convention.TestBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ClassServiceLectureCountTests {
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    ClassService classService;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    LectureRepository lectureRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void classListingCountsLecturesWithOneQuery() {
+        List<ClassEntity> classes = classRepository.saveAll(IntStream.rangeClosed(1, 200)
+                .mapToObj(i -> ClassEntity.builder()
+                        .name("Class " + i)
+                        .gradeId((long) (i % 5 + 1))
+                        .lecturerId((long) (i % 7 + 1))
+                        .startDate(LocalDate.now())
+                        .endDate(LocalDate.now().plusMonths(3))
+                        .build())
+                .toList());
+
+        List<Lecture> lectures = new ArrayList<>();
+        for (ClassEntity classEntity : classes) {
+            for (int i = 0; i < 3; i++) {
+                lectures.add(Lecture.builder()
+                        .classEntity(classEntity)
+                        .title("Lecture " + i)
+                        .dateTime(LocalDateTime.now().plusDays(i + 1))
+                        .build());
+            }
+        }
+        lectureRepository.saveAll(lectures);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ClassResponse> response = classService.getAllClasses();
+
+        // One SELECT for the classes and one for all their counts - no per-class collection loads
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertThat(response)
+                .filteredOn(row -> classes.stream().anyMatch(c -> c.getId().equals(row.getId())))
+                .hasSize(200)
+                .allSatisfy(row -> assertThat(row.getLectureCount()).isEqualTo(3));
+    }
+}
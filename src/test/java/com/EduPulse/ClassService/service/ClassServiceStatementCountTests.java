@@ -0,0 +1,206 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.Attendance;
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.Lecture;
+import com.EduPulse.ClassService.model.dto.AttendanceRequest;
+import com.EduPulse.ClassService.model.dto.AttendanceResponse;
+import com.EduPulse.ClassService.model.dto.LectureRequest;
+import com.EduPulse.ClassService.model.dto.LectureResponse;
+import com.EduPulse.ClassService.repository.AttendanceRepository;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.repository.LectureRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.convention.TestBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ClassServiceStatementCountTests {
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    ClassService classService;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    LectureRepository lectureRepository;
+
+    @Autowired
+    AttendanceRepository attendanceRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private ClassEntity classEntity;
+
+    @BeforeEach
+    void createClass() {
+        classEntity = classRepository.save(ClassEntity.builder()
+                .name("History")
+                .gradeId(1L)
+                .lecturerId(61L)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(3))
+                .build());
+    }
+
+    @Test
+    void studentHistoryIsOneQueryRegardlessOfLectureCount() {
+        List<Lecture> lectures = lectureRepository.saveAll(IntStream.rangeClosed(1, 40)
+                .mapToObj(i -> Lecture.builder()
+                        .classEntity(classEntity)
+                        .title("Lecture " + i)
+                        .dateTime(LocalDateTime.now().plusDays(i))
+                        .build())
+                .toList());
+        attendanceRepository.saveAll(lectures.stream()
+                .map(lecture -> Attendance.builder()
+                        .studentId(6101L)
+                        .studentName("Student 6101")
+                        .studentNameRefreshedAt(LocalDateTime.now())
+                        .lecture(lecture)
+                        .status(Attendance.AttendanceStatus.PRESENT)
+                        .checkInTime(LocalDateTime.now())
+                        .build())
+                .toList());
+        Statistics statistics = statistics();
+
+        List<AttendanceResponse> history = classService.getAttendanceForStudent(6101L);
+
+        assertThat(history).hasSize(40);
+        assertThat(history).extracting(AttendanceResponse::getLectureTitle).contains("Lecture 1", "Lecture 40");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void lectureByIdReadsOnlyTheLectureRow() {
+        Lecture lecture = newLecture();
+        Statistics statistics = statistics();
+
+        LectureResponse response = classService.getLectureById(lecture.getId());
+
+        assertThat(response.getClassId()).isEqualTo(classEntity.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void updateLectureLoadsLectureAndClassInOneQuery() {
+        Lecture lecture = newLecture();
+        Statistics statistics = statistics();
+
+        LectureResponse response = classService.updateLecture(lecture.getId(), lectureRequest("Renamed"), 61L);
+
+        assertThat(response.getTitle()).isEqualTo("Renamed");
+        assertThat(response.getClassId()).isEqualTo(classEntity.getId());
+        // One joined SELECT and the UPDATE
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void scheduleLectureDoesNotTouchTheLecturesCollection() {
+        // IDENTITY inserts are not cached: the first load puts the class into the second-level cache
+        classRepository.findById(classEntity.getId());
+        Statistics statistics = statistics();
+
+        LectureResponse response = classService.scheduleLecture(classEntity.getId(), lectureRequest("Intro"));
+
+        assertThat(response.getClassId()).isEqualTo(classEntity.getId());
+        // Only the INSERT - the class comes from the second-level cache
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    void markingAttendanceCostsTheSameForAnyRosterSize() {
+        Lecture lecture = newLecture();
+        classService.markAttendanceBulk(lecture.getId(), IntStream.rangeClosed(1, 200)
+                .mapToObj(i -> attendanceRequest(6200L + i, "PRESENT"))
+                .toList());
+
+        // New student: INSERT IGNORE (id from the generated keys), one delta per rollup table
+        Map<String, Long> statements = attendanceStatements(() ->
+                classService.markAttendance(lecture.getId(), attendanceRequest(6500L, "PRESENT")));
+        assertThat(statements.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(3);
+        // No recount of the roster
+        assertThat(statements.keySet()).noneMatch(sql -> sql.contains("SUM("));
+
+        // Same status again: ignored INSERT, locking point read and UPDATE, the rollups do not change
+        assertThat(attendanceStatements(() ->
+                classService.markAttendance(lecture.getId(), attendanceRequest(6500L, "PRESENT")))
+                .values().stream().mapToLong(Long::longValue).sum()).isEqualTo(3);
+
+        // Status change: ignored INSERT, read, UPDATE and the two deltas moving the count
+        assertThat(attendanceStatements(() ->
+                classService.markAttendance(lecture.getId(), attendanceRequest(6500L, "LATE")))
+                .values().stream().mapToLong(Long::longValue).sum()).isEqualTo(5);
+    }
+
+    private Lecture newLecture() {
+        return lectureRepository.save(Lecture.builder()
+                .classEntity(classEntity)
+                .title("Revolutions")
+                .dateTime(LocalDateTime.now().plusDays(1))
+                .build());
+    }
+
+    private static LectureRequest lectureRequest(String title) {
+        LectureRequest request = new LectureRequest();
+        request.setTitle(title);
+        request.setDateTime(LocalDateTime.now().plusDays(2));
+        return request;
+    }
+
+    private static AttendanceRequest attendanceRequest(Long studentId, String status) {
+        AttendanceRequest request = new AttendanceRequest();
+        request.setStudentId(studentId);
+        request.setStatus(status);
+        return request;
+    }
+
+    // Executions per statement touching the attendance tables, as counted by H2 (JdbcTemplate included)
+    private Map<String, Long> attendanceStatements(Runnable action) {
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+        jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+        action.run();
+        Map<String, Long> statements = new HashMap<>();
+        jdbcTemplate.query("SELECT SQL_STATEMENT, EXECUTION_COUNT FROM INFORMATION_SCHEMA.QUERY_STATISTICS", rs -> {
+            String sql = rs.getString("SQL_STATEMENT");
+            if (sql.contains("attendance") && !sql.contains("QUERY_STATISTICS")) {
+                statements.put(sql, rs.getLong("EXECUTION_COUNT"));
+            }
+        });
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+        return statements;
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,96 @@
+package com.EduPulse.ClassService.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DeadlockLoserDataAccessException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeadlockRetryTests {
+
+    private final NoOpTransactionManager transactionManager = new NoOpTransactionManager();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DeadlockRetry deadlockRetry =
+            new DeadlockRetry(new TransactionTemplate(transactionManager), 3, meterRegistry);
+
+    @Test
+    void reRunsADeadlockVictimInAFreshTransaction() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = deadlockRetry.execute(status -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new DeadlockLoserDataAccessException("Deadlock found when trying to get lock", null);
+            }
+            return "stored";
+        });
+
+        assertThat(result).isEqualTo("stored");
+        assertThat(attempts).hasValue(2);
+        assertThat(transactionManager.rollbacks).hasValue(1);
+        assertThat(meterRegistry.counter("classservice.attendance.deadlock.retries").count()).isEqualTo(1);
+    }
+
+    @Test
+    void givesUpAfterTheLastAttempt() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> deadlockRetry.execute(status -> {
+            attempts.incrementAndGet();
+            throw new DeadlockLoserDataAccessException("Deadlock found when trying to get lock", null);
+        })).isInstanceOf(DeadlockLoserDataAccessException.class);
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void leavesTheVictimToTheCallersTransaction() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> new TransactionTemplate(transactionManager).executeWithoutResult(outer ->
+                deadlockRetry.execute(status -> {
+                    attempts.incrementAndGet();
+                    throw new DeadlockLoserDataAccessException("Deadlock found when trying to get lock", null);
+                }))).isInstanceOf(DeadlockLoserDataAccessException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    // Real transaction synchronization, no resources
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        final AtomicInteger rollbacks = new AtomicInteger();
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return TransactionSynchronizationManager.isActualTransactionActive();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            rollbacks.incrementAndGet();
+        }
+    }
+}
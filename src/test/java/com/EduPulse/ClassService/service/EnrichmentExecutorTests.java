@@ -0,0 +1,102 @@
+package com.EduPulse.ClassService.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EnrichmentExecutorTests {
+
+    private final EnrichmentExecutor executor = new EnrichmentExecutor(3);
+
+    @AfterEach
+    void shutDown() {
+        executor.destroy();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void runsConcurrentlyButNeverAboveTheLimitAndKeepsTheOrder() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Integer> items = IntStream.range(0, 20).boxed().toList();
+
+        List<Integer> results = executor.mapAll(items, item -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(20);
+            inFlight.decrementAndGet();
+            return item * 10;
+        });
+
+        assertThat(results).isEqualTo(items.stream().map(item -> item * 10).toList());
+        assertThat(maxInFlight.get()).isBetween(2, 3);
+    }
+
+    @Test
+    void firstFailureIsRethrownAndCancelsThePendingLookups() {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        AtomicInteger finished = new AtomicInteger();
+        // A permit for every item, so the failing one never queues behind the slow ones
+        EnrichmentExecutor wide = new EnrichmentExecutor(4);
+
+        assertThatThrownBy(() -> wide.mapAll(List.of(0, 1, 2, 3), item -> {
+            if (item == 0) {
+                await(slowStarted);
+                throw new IllegalStateException("user-service said no");
+            }
+            slowStarted.countDown();
+            sleep(5_000);
+            finished.incrementAndGet();
+            return item;
+        })).isInstanceOf(IllegalStateException.class)
+                .hasMessage("user-service said no");
+
+        sleep(100);
+        assertThat(finished.get()).isZero();
+        wide.destroy();
+    }
+
+    @Test
+    void callerRequestAttributesAreVisibleToEveryLookup() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer lecturer-token");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        List<String> tokens = executor.mapAll(List.of(1, 2, 3, 4, 5), item -> {
+            ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+            return attributes == null ? null : attributes.getRequest().getHeader(HttpHeaders.AUTHORIZATION);
+        });
+
+        assertThat(tokens).containsOnly("Bearer lecturer-token").hasSize(5);
+        // The caller keeps its own attributes
+        assertThat(RequestContextHolder.getRequestAttributes()).isNotNull();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted", e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.dto.LectureResponse;
+import com.EduPulse.ClassService.model.dto.LectureSeriesRequest;
+import com.EduPulse.ClassService.model.dto.LectureSeriesResponse;
+import com.EduPulse.ClassService.model.dto.LectureSeriesShiftRequest;
+import com.EduPulse.ClassService.model.dto.ResourceVersion;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.convention.TestBean;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class LectureSeriesTests {
+
+    private static final long LECTURER_ID = 2401L;
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    ClassService classService;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void weeklyRuleFillsTheClassDatesExceptExclusions() {
+        ClassEntity classEntity = tenWeekClass();
+        LocalDate firstMonday = classEntity.getStartDate().with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+
+        LectureSeriesResponse series = classService.scheduleLectureSeries(classEntity.getId(),
+                weeklyOnMonday(null, List.of(firstMonday.plusWeeks(1))), LECTURER_ID);
+
+        // A 70-day class has exactly ten Mondays; one of them is excluded
+        assertThat(series.getLectures()).hasSize(9)
+                .allSatisfy(lecture -> {
+                    assertThat(lecture.getDateTime().getDayOfWeek()).isEqualTo(DayOfWeek.MONDAY);
+                    assertThat(lecture.getDateTime().toLocalTime()).isEqualTo(LocalTime.of(10, 0));
+                    assertThat(lecture.getClassId()).isEqualTo(classEntity.getId());
+                });
+        assertThat(series.getLectures().getFirst().getDateTime().toLocalDate()).isEqualTo(firstMonday);
+        assertThat(series.getLectures()).extracting(lecture -> lecture.getDateTime().toLocalDate())
+                .doesNotContain(firstMonday.plusWeeks(1));
+    }
+
+    @Test
+    void countStopsTheSeriesEarly() {
+        ClassEntity classEntity = tenWeekClass();
+
+        LectureSeriesResponse series = classService.scheduleLectureSeries(classEntity.getId(),
+                weeklyOnMonday(3, List.of()), LECTURER_ID);
+
+        assertThat(series.getLectures()).hasSize(3);
+    }
+
+    @Test
+    void batchedInsertIsVisibleThroughTheCachedLectureList() {
+        ClassEntity classEntity = tenWeekClass();
+        // Cache the (empty) lectures collection and the list validators first
+        assertThat(classService.getLecturesByClass(classEntity.getId())).isEmpty();
+        ResourceVersion before = classService.getLectureListVersion(classEntity.getId());
+
+        classService.scheduleLectureSeries(classEntity.getId(), weeklyOnMonday(null, List.of()), LECTURER_ID);
+
+        assertThat(classService.getLecturesByClass(classEntity.getId())).hasSize(10);
+        assertThat(classService.getLectureListVersion(classEntity.getId()).etag()).isNotEqualTo(before.etag());
+    }
+
+    @Test
+    void shiftMovesTheSeriesWithBatchedUpdates() {
+        ClassEntity classEntity = tenWeekClass();
+        LectureSeriesResponse series = classService.scheduleLectureSeries(classEntity.getId(),
+                weeklyOnMonday(5, List.of()), LECTURER_ID);
+        Statistics statistics = statistics();
+
+        LectureSeriesResponse shifted = classService.shiftLectureSeries(classEntity.getId(), series.getSeriesId(),
+                shiftBy(Duration.ofDays(1)), LECTURER_ID);
+
+        assertThat(shifted.getLectures()).extracting(LectureResponse::getDateTime)
+                .containsExactlyElementsOf(series.getLectures().stream()
+                        .map(lecture -> lecture.getDateTime().plusDays(1))
+                        .toList());
+        // Class (unless cached), the series, one batch of five updates, the re-read
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(5);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void shiftOutsideTheClassDatesIsRejected() {
+        ClassEntity classEntity = tenWeekClass();
+        LectureSeriesResponse series = classService.scheduleLectureSeries(classEntity.getId(),
+                weeklyOnMonday(null, List.of()), LECTURER_ID);
+
+        assertThatThrownBy(() -> classService.shiftLectureSeries(classEntity.getId(), series.getSeriesId(),
+                shiftBy(Duration.ofDays(14)), LECTURER_ID))
+                .hasMessageContaining("outside the class dates");
+        assertThat(classService.getLecturesByClass(classEntity.getId()))
+                .extracting(LectureResponse::getDateTime)
+                .containsExactlyInAnyOrderElementsOf(series.getLectures().stream()
+                        .map(LectureResponse::getDateTime)
+                        .toList());
+    }
+
+    @Test
+    void onlyTheClassLecturerMaySchedule() {
+        ClassEntity classEntity = tenWeekClass();
+
+        assertThatThrownBy(() -> classService.scheduleLectureSeries(classEntity.getId(),
+                weeklyOnMonday(null, List.of()), LECTURER_ID + 1))
+                .hasMessageContaining("Unauthorized");
+    }
+
+    private ClassEntity tenWeekClass() {
+        LocalDate start = LocalDate.now().plusDays(1);
+        return classRepository.save(ClassEntity.builder()
+                .name("Geography")
+                .gradeId(24L)
+                .lecturerId(LECTURER_ID)
+                .startDate(start)
+                .endDate(start.plusWeeks(10).minusDays(1))
+                .build());
+    }
+
+    private static LectureSeriesRequest weeklyOnMonday(Integer count, List<LocalDate> exclusions) {
+        LectureSeriesRequest request = new LectureSeriesRequest();
+        request.setTitle("Weekly seminar");
+        request.setDayOfWeek(DayOfWeek.MONDAY);
+        request.setTime(LocalTime.of(10, 0));
+        request.setCount(count);
+        request.setExclusions(exclusions);
+        return request;
+    }
+
+    private static LectureSeriesShiftRequest shiftBy(Duration offset) {
+        LectureSeriesShiftRequest request = new LectureSeriesShiftRequest();
+        request.setShiftBy(offset);
+        return request;
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,208 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.Attendance;
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.Lecture;
+import com.EduPulse.ClassService.model.dto.AttendanceRequest;
+import com.EduPulse.ClassService.model.dto.AttendanceResponse;
+import com.EduPulse.ClassService.model.dto.ClassRequest;
+import com.EduPulse.ClassService.model.dto.ClassResponse;
+import com.EduPulse.ClassService.repository.AttendanceRepository;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.repository.LectureRepository;
+import com.EduPulse.ClassService.support.StubUserServiceClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.convention.TestBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class NameSnapshotTests {
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    ClassService classService;
+
+    @Autowired
+    NameSnapshotRefresher nameSnapshotRefresher;
+
+    @Autowired
+    UserLookupService userLookupService;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    LectureRepository lectureRepository;
+
+    @Autowired
+    AttendanceRepository attendanceRepository;
+
+    private final StubUserServiceClient stub = StubUserServiceClient.shared();
+
+    @BeforeEach
+    void resetStub() {
+        userLookupService.evictAll();
+        stub.reset();
+    }
+
+    @Test
+    void readsAfterWritesAreServedFromSnapshots() {
+        ClassResponse created = classService.createClass(ClassRequest.builder()
+                .name("Chemistry")
+                .gradeId(31L)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(3))
+                .build(), 32L);
+
+        Lecture lecture = lectureRepository.save(Lecture.builder()
+                .classEntity(classRepository.findById(created.getId()).orElseThrow())
+                .title("Bonds")
+                .dateTime(LocalDateTime.now().plusDays(1))
+                .build());
+        AttendanceRequest attendance = new AttendanceRequest();
+        attendance.setStudentId(3301L);
+        attendance.setStatus("PRESENT");
+        classService.markAttendance(lecture.getId(), attendance);
+
+        userLookupService.evictAll();
+        stub.reset();
+
+        ClassResponse byId = classService.getClassById(created.getId());
+        List<AttendanceResponse> roster = classService.getAttendanceForLecture(lecture.getId());
+        List<AttendanceResponse> history = classService.getAttendanceForStudent(3301L);
+
+        assertThat(byId.getGradeName()).isEqualTo("Grade 31");
+        assertThat(byId.getLecturerName()).isEqualTo("Lecturer 32");
+        assertThat(roster).singleElement().satisfies(row -> assertThat(row.getStudentName()).isEqualTo("Student 3301"));
+        assertThat(history).singleElement().satisfies(row -> assertThat(row.getStudentName()).isEqualTo("Student 3301"));
+        assertThat(stub.totalCalls()).isZero();
+    }
+
+    @Test
+    void refresherFillsRowsWrittenWithoutSnapshots() {
+        ClassEntity classEntity = classRepository.save(ClassEntity.builder()
+                .name("Biology")
+                .gradeId(41L)
+                .lecturerId(42L)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(3))
+                .build());
+        Lecture lecture = lectureRepository.save(Lecture.builder()
+                .classEntity(classEntity)
+                .title("Cells")
+                .dateTime(LocalDateTime.now().plusDays(1))
+                .build());
+        attendanceRepository.save(Attendance.builder()
+                .studentId(4401L)
+                .lecture(lecture)
+                .status(Attendance.AttendanceStatus.LATE)
+                .checkInTime(LocalDateTime.now())
+                .build());
+
+        nameSnapshotRefresher.refresh();
+        userLookupService.evictAll();
+        stub.reset();
+
+        ClassEntity refreshed = classRepository.findById(classEntity.getId()).orElseThrow();
+        assertThat(refreshed.getGradeName()).isEqualTo("Grade 41");
+        assertThat(refreshed.getLecturerName()).isEqualTo("Lecturer 42");
+        assertThat(refreshed.getNamesRefreshedAt()).isNotNull();
+        assertThat(classService.getAttendanceForLecture(lecture.getId()))
+                .singleElement()
+                .satisfies(row -> assertThat(row.getStudentName()).isEqualTo("Student 4401"));
+        assertThat(stub.totalCalls()).isZero();
+    }
+
+    @Test
+    void confirmingUnchangedNamesLeavesTheVersionAlone() {
+        ClassEntity classEntity = classRepository.save(ClassEntity.builder()
+                .name("Zoology")
+                .gradeId(43L)
+                .lecturerId(44L)
+                .gradeName("Grade 43")
+                .lecturerName("Lecturer 44")
+                .namesRefreshedAt(LocalDateTime.now().minusDays(2))
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(3))
+                .build());
+        ClassRepository.ClassVersion before = classRepository.findVersionById(classEntity.getId()).orElseThrow();
+
+        nameSnapshotRefresher.refresh();
+
+        ClassRepository.ClassVersion after = classRepository.findVersionById(classEntity.getId()).orElseThrow();
+        assertThat(after.getVersion()).isEqualTo(before.getVersion());
+        assertThat(after.getUpdatedAt()).isEqualTo(before.getUpdatedAt());
+        assertThat(classRepository.findById(classEntity.getId()).orElseThrow().getNamesRefreshedAt())
+                .isAfter(LocalDateTime.now().minusMinutes(1));
+    }
+
+    @Test
+    void updateClassRetakesEverySnapshot() {
+        ClassEntity classEntity = classRepository.save(ClassEntity.builder()
+                .name("Physics")
+                .gradeId(51L)
+                .lecturerId(52L)
+                .gradeName("Old grade")
+                .lecturerName("Old lecturer")
+                .namesRefreshedAt(LocalDateTime.now().minusDays(2))
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(3))
+                .build());
+
+        // Same grade, so only a full refresh replaces the stale names
+        ClassResponse updated = classService.updateClass(classEntity.getId(), ClassRequest.builder()
+                .name("Physics II")
+                .gradeId(51L)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(4))
+                .build(), 52L);
+
+        ClassEntity saved = classRepository.findById(classEntity.getId()).orElseThrow();
+        assertThat(updated.getGradeName()).isEqualTo("Grade 51");
+        assertThat(updated.getLecturerName()).isEqualTo("Lecturer 52");
+        assertThat(saved.getGradeName()).isEqualTo("Grade 51");
+        assertThat(saved.getLecturerName()).isEqualTo("Lecturer 52");
+        assertThat(saved.getNamesRefreshedAt()).isAfter(LocalDateTime.now().minusMinutes(1));
+    }
+
+    @Test
+    void studentsMissingFromABatchAreRetriedInTheSameRun() {
+        ClassEntity classEntity = classRepository.save(ClassEntity.builder()
+                .name("Astronomy")
+                .gradeId(46L)
+                .lecturerId(47L)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(3))
+                .build());
+        Lecture lecture = lectureRepository.save(Lecture.builder()
+                .classEntity(classEntity)
+                .title("Orbits")
+                .dateTime(LocalDateTime.now().plusDays(1))
+                .build());
+        for (long studentId = 4601; studentId <= 4603; studentId++) {
+            attendanceRepository.save(Attendance.builder()
+                    .studentId(studentId)
+                    .lecture(lecture)
+                    .status(Attendance.AttendanceStatus.PRESENT)
+                    .checkInTime(LocalDateTime.now())
+                    .build());
+        }
+        stub.omitStudentOnce(4602L);
+
+        nameSnapshotRefresher.refresh();
+
+        assertThat(attendanceRepository.findByLectureId(lecture.getId()))
+                .extracting(Attendance::getStudentName)
+                .containsExactlyInAnyOrder("Student 4601", "Student 4602", "Student 4603");
+    }
+}
@@ -0,0 +1,129 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.dto.ClassRequest;
+import com.EduPulse.ClassService.model.dto.ClassResponse;
+import com.EduPulse.ClassService.model.dto.LectureRequest;
+import com.EduPulse.ClassService.model.dto.LectureResponse;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.convention.TestBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SecondLevelCacheTests {
+
+    private static final long LECTURER_ID = 91L;
+    private static final long GRADE_ID = 92L;
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    ClassService classService;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private ClassEntity classEntity;
+
+    @BeforeEach
+    void createClass() {
+        classEntity = classRepository.save(ClassEntity.builder()
+                .name("Geography")
+                .gradeId(GRADE_ID)
+                .lecturerId(LECTURER_ID)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(3))
+                .build());
+        // IDENTITY inserts are not cached: the first load puts the class into the second-level cache
+        classRepository.findById(classEntity.getId());
+    }
+
+    @Test
+    void classIsServedFromCacheAndRefreshedOnUpdateAndDelete() {
+        Statistics statistics = statistics();
+        classService.getClassById(classEntity.getId());
+        // The class from the cache, only the lecture COUNT hits the database
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        classService.updateClass(classEntity.getId(), classRequest("Physical geography"), LECTURER_ID);
+        assertThat(classService.getClassById(classEntity.getId()).getName()).isEqualTo("Physical geography");
+
+        classService.deleteClass(classEntity.getId());
+        assertThat(classService.getClassById(classEntity.getId()).getStatus()).isEqualTo(ClassEntity.ClassStatus.ARCHIVED);
+    }
+
+    @Test
+    void gradeQueryIsCachedUntilTheClassesTableChanges() {
+        classService.getClassesByGrade(GRADE_ID);
+        Statistics statistics = statistics();
+
+        List<ClassResponse> cached = classService.getClassesByGrade(GRADE_ID);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(cached).extracting(ClassResponse::getId).contains(classEntity.getId());
+
+        classService.updateClass(classEntity.getId(), classRequest("Human geography"), LECTURER_ID);
+        assertThat(classService.getClassesByGrade(GRADE_ID))
+                .filteredOn(row -> row.getId().equals(classEntity.getId()))
+                .extracting(ClassResponse::getName)
+                .containsExactly("Human geography");
+    }
+
+    @Test
+    void lectureCollectionFollowsScheduleUpdateAndDelete() {
+        LectureResponse first = classService.scheduleLecture(classEntity.getId(), lectureRequest("Rivers"));
+        assertThat(classService.getLecturesByClass(classEntity.getId())).extracting(LectureResponse::getTitle)
+                .containsExactly("Rivers");
+
+        LectureResponse second = classService.scheduleLecture(classEntity.getId(), lectureRequest("Mountains"));
+        assertThat(classService.getLecturesByClass(classEntity.getId())).extracting(LectureResponse::getTitle)
+                .containsExactlyInAnyOrder("Rivers", "Mountains");
+
+        classService.updateLecture(second.getId(), lectureRequest("Glaciers"), LECTURER_ID);
+        assertThat(classService.getLectureById(second.getId()).getTitle()).isEqualTo("Glaciers");
+        assertThat(classService.getLecturesByClass(classEntity.getId())).extracting(LectureResponse::getTitle)
+                .containsExactlyInAnyOrder("Rivers", "Glaciers");
+
+        classService.deleteLecture(first.getId(), LECTURER_ID);
+        assertThat(classService.getLecturesByClass(classEntity.getId())).extracting(LectureResponse::getTitle)
+                .containsExactly("Glaciers");
+    }
+
+    private ClassRequest classRequest(String name) {
+        return ClassRequest.builder()
+                .name(name)
+                .gradeId(GRADE_ID)
+                .startDate(classEntity.getStartDate())
+                .endDate(classEntity.getEndDate())
+                .build();
+    }
+
+    private static LectureRequest lectureRequest(String title) {
+        LectureRequest request = new LectureRequest();
+        request.setTitle(title);
+        request.setDateTime(LocalDateTime.now().plusDays(3));
+        return request;
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
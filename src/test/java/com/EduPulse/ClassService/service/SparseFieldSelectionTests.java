@@ -0,0 +1,143 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.Lecture;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.repository.LectureRepository;
+import com.EduPulse.ClassService.support.StubUserServiceClient;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SparseFieldSelectionTests {
+
+    private static final long GRADE_ID = 33L;
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    ClassService classService;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    LectureRepository lectureRepository;
+
+    @Autowired
+    UserLookupService userLookupService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    private final StubUserServiceClient stub = StubUserServiceClient.shared();
+
+    private ClassEntity classEntity;
+
+    @BeforeEach
+    void createClass() {
+        classEntity = classRepository.save(ClassEntity.builder()
+                .name("Economics")
+                .gradeId(GRADE_ID)
+                .lecturerId(3301L)      // no name snapshots: names would need user-service
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(3))
+                .build());
+        lectureRepository.save(Lecture.builder()
+                .classEntity(classEntity)
+                .title("Supply and demand")
+                .description("Markets")
+                .dateTime(LocalDateTime.now().plusDays(1))
+                .build());
+    }
+
+    @Test
+    void onlyRequestedColumnsAreReadAndNothingIsEnriched() {
+        userLookupService.validateGrade(GRADE_ID);
+        stub.reset();
+        Statistics statistics = statistics();
+
+        List<Map<String, Object>> classes = classService.getClassesByGrade(GRADE_ID,
+                FieldSelection.parse("name,status", FieldSelection.CLASS_FIELDS));
+
+        assertThat(classes).filteredOn(row -> row.get("id").equals(classEntity.getId()))
+                .singleElement()
+                .satisfies(row -> {
+                    assertThat(row).containsOnlyKeys("id", "name", "status");
+                    assertThat(row).containsEntry("name", "Economics")
+                            .containsEntry("status", ClassEntity.ClassStatus.ACTIVE);
+                });
+        assertThat(stub.totalCalls()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void derivedFieldsAreFilledOnlyWhenRequested() {
+        List<Map<String, Object>> classes = classService.getClassesByGrade(GRADE_ID,
+                FieldSelection.parse("lecturerName,lectureCount", FieldSelection.CLASS_FIELDS));
+
+        assertThat(classes).filteredOn(row -> row.get("id").equals(classEntity.getId()))
+                .singleElement()
+                .satisfies(row -> assertThat(row)
+                        .containsOnlyKeys("id", "lecturerName", "lectureCount")
+                        .containsEntry("lecturerName", "Lecturer 3301")
+                        .containsEntry("lectureCount", 1));
+    }
+
+    @Test
+    void lectureListingSelectsRequestedFields() {
+        List<Map<String, Object>> lectures = classService.getLecturesByClass(classEntity.getId(),
+                FieldSelection.parse("title,dateTime", FieldSelection.LECTURE_FIELDS));
+
+        assertThat(lectures).singleElement()
+                .satisfies(row -> assertThat(row).containsOnlyKeys("id", "title", "dateTime")
+                        .containsEntry("title", "Supply and demand"));
+    }
+
+    @Test
+    void unknownFieldsAreRejected() {
+        assertThatThrownBy(() -> FieldSelection.parse("name,salary", FieldSelection.CLASS_FIELDS))
+                .isInstanceOf(UnknownFieldException.class)
+                .hasMessageContaining("Unknown field 'salary'");
+        assertThat(FieldSelection.parse(" ", FieldSelection.CLASS_FIELDS)).isNull();
+    }
+
+    @Test
+    void unknownFieldsAreABadRequest() throws Exception {
+        mockMvc.perform(get("/api/classes/{classId}/lectures", classEntity.getId()).param("fields", "title,salary"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0]").value(containsString("Unknown field 'salary'")));
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
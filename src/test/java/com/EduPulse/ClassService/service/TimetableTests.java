@@ -0,0 +1,124 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.Lecture;
+import com.EduPulse.ClassService.model.dto.TimetableEntry;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.EduPulse.ClassService.repository.LectureRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.convention.TestBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class TimetableTests {
+
+    // Fresh grades and lecturers per test, the database is shared
+    private static final AtomicLong GRADES = new AtomicLong(470);
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2031, 3, 3, 0, 0);
+
+    @TestBean(methodName = "com.EduPulse.ClassService.support.StubUserServiceClient#shared")
+    UserServiceClient userServiceClient;
+
+    @Autowired
+    ClassService classService;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    LectureRepository lectureRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private long gradeId;
+    private long lecturerId;
+
+    @BeforeEach
+    void createClasses() {
+        gradeId = GRADES.getAndAdd(2);
+        lecturerId = gradeId * 100 + 1;
+        ClassEntity maths = newClass("Maths", gradeId, lecturerId, ClassEntity.ClassStatus.ACTIVE);
+        ClassEntity art = newClass("Art", gradeId, lecturerId + 1, ClassEntity.ClassStatus.ACTIVE);
+        ClassEntity archived = newClass("Latin", gradeId, lecturerId, ClassEntity.ClassStatus.ARCHIVED);
+        ClassEntity otherGrade = newClass("Drama", gradeId + 1, lecturerId, ClassEntity.ClassStatus.ACTIVE);
+
+        newLecture(maths, "Algebra", MONDAY.plusHours(9));
+        newLecture(art, "Colour", MONDAY.plusHours(8));
+        newLecture(maths, "Geometry", MONDAY.plusDays(2).plusHours(10));
+        newLecture(art, "Next week", MONDAY.plusDays(7));          // end of the window is exclusive
+        newLecture(maths, "Last week", MONDAY.minusDays(1));
+        newLecture(archived, "Declensions", MONDAY.plusHours(11));
+        newLecture(otherGrade, "Improvisation", MONDAY.plusHours(12));
+    }
+
+    @Test
+    void gradeTimetableIsOneOrderedQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<TimetableEntry> week = classService.getTimetableForGrade(gradeId, MONDAY, MONDAY.plusDays(7));
+
+        assertThat(week).extracting(TimetableEntry::getTitle).containsExactly("Colour", "Algebra", "Geometry");
+        assertThat(week).extracting(TimetableEntry::getClassName).containsExactly("Art", "Maths", "Maths");
+        assertThat(week.get(1).getLecturerName()).isEqualTo("Lecturer " + lecturerId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void lecturerTimetableSpansGrades() {
+        List<TimetableEntry> week = classService.getTimetableForLecturer(lecturerId, MONDAY, MONDAY.plusDays(7));
+
+        assertThat(week).extracting(TimetableEntry::getTitle).containsExactly("Algebra", "Improvisation", "Geometry");
+    }
+
+    @Test
+    void studentTimetableIsTheirGrade() {
+        List<TimetableEntry> week = classService.getTimetableForStudent(gradeId * 100 + 5, MONDAY, MONDAY.plusDays(7));
+
+        assertThat(week).extracting(TimetableEntry::getTitle).containsExactly("Colour", "Algebra", "Geometry");
+    }
+
+    @Test
+    void windowMustBeBounded() {
+        assertThatThrownBy(() -> classService.getTimetableForGrade(gradeId, MONDAY, MONDAY))
+                .hasMessageContaining("'to' must be after 'from'");
+        assertThatThrownBy(() -> classService.getTimetableForGrade(gradeId, MONDAY, MONDAY.plusDays(60)))
+                .hasMessageContaining("too long");
+    }
+
+    private ClassEntity newClass(String name, long gradeId, long lecturerId, ClassEntity.ClassStatus status) {
+        return classRepository.save(ClassEntity.builder()
+                .name(name)
+                .gradeId(gradeId)
+                .lecturerId(lecturerId)
+                .lecturerName("Lecturer " + lecturerId)
+                .namesRefreshedAt(LocalDateTime.now())
+                .status(status)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(3))
+                .build());
+    }
+
+    private void newLecture(ClassEntity classEntity, String title, LocalDateTime dateTime) {
+        lectureRepository.save(Lecture.builder()
+                .classEntity(classEntity)
+                .title(title)
+                .dateTime(dateTime)
+                .build());
+    }
+}
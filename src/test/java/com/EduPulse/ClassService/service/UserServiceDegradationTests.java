@@ -0,0 +1,141 @@
+package com.EduPulse.ClassService.service;
+
+import com.EduPulse.ClassService.config.UserServiceResilience;
+import com.EduPulse.ClassService.model.ClassEntity;
+import com.EduPulse.ClassService.model.dto.ClassResponse;
+import com.EduPulse.ClassService.repository.ClassRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the real Feign client against a local HTTP stub that can be made slow, to check
+ * that timeouts and the circuit breaker keep read latency bounded and that names are
+ * served from the last known good values meanwhile.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:degraded_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "user-service.cache.grade-ttl=PT0S",      // every lookup goes downstream
+        "user-service.cache.user-ttl=PT0S",
+        "user-service.timeouts.read=PT0.2S",
+        "user-service.circuit-breaker.minimum-calls=6",
+        "user-service.circuit-breaker.open-duration=PT1M"
+})
+class UserServiceDegradationTests {
+
+    private static final HttpServer server = startServer();
+    private static final AtomicInteger requests = new AtomicInteger();
+    private static volatile long delayMillis;
+
+    @Autowired
+    ClassService classService;
+
+    @Autowired
+    ClassRepository classRepository;
+
+    @Autowired
+    UserServiceResilience userServiceResilience;
+
+    @DynamicPropertySource
+    static void userService(DynamicPropertyRegistry registry) {
+        registry.add("USER_SERVICE_URL", () -> "http://localhost:" + server.getAddress().getPort() + "/api/users");
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void slowUserServiceDoesNotStallReads() {
+        ClassEntity classEntity = classRepository.save(ClassEntity.builder()
+                .name("Physics")
+                .gradeId(7L)
+                .lecturerId(9L)
+                .status(ClassEntity.ClassStatus.ACTIVE)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(3))
+                .build());
+
+        // Healthy: names come from user-service and are remembered
+        delayMillis = 0;
+        ClassResponse healthy = classService.getClassById(classEntity.getId());
+        assertThat(healthy.getGradeName()).isEqualTo("Grade 7");
+        assertThat(healthy.getLecturerName()).isEqualTo("Lecturer 9");
+
+        // Degraded: every answer would take 3s, far beyond the 200ms read timeout
+        delayMillis = 3_000;
+        int requestsBefore = requests.get();
+        int reads = 30;
+        List<Long> latencies = new ArrayList<>();
+        for (int i = 0; i < reads; i++) {
+            long start = System.nanoTime();
+            ClassResponse degraded = classService.getClassById(classEntity.getId());
+            latencies.add(Duration.ofNanos(System.nanoTime() - start).toMillis());
+
+            assertThat(degraded.getGradeName()).isEqualTo("Grade 7");
+            assertThat(degraded.getLecturerName()).isEqualTo("Lecturer 9");
+        }
+
+        // Worst case is two timed-out lookups; once open, the circuits fail fast
+        assertThat(latencies).allSatisfy(millis -> assertThat(millis).isLessThan(1_500));
+        assertThat(latencies.subList(reads - 10, reads)).allSatisfy(millis -> assertThat(millis).isLessThan(100));
+        assertThat(requests.get() - requestsBefore).isLessThan(2 * reads);
+        assertThat(userServiceResilience.state("validateGrade")).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(userServiceResilience.state("validateLecturer")).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private static HttpServer startServer() {
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            httpServer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            httpServer.createContext("/api/users/validate/grade/", exchange ->
+                    respond(exchange, "{\"id\":%s,\"name\":\"Grade %s\"}"));
+            httpServer.createContext("/api/users/lecturers/validate/", exchange ->
+                    respond(exchange, "{\"id\":%s,\"fullName\":\"Lecturer %s\"}"));
+            httpServer.start();
+            return httpServer;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String template) throws IOException {
+        requests.incrementAndGet();
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        String path = exchange.getRequestURI().getPath();
+        String id = path.substring(path.lastIndexOf('/') + 1);
+        byte[] body = template.formatted(id, id).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.sendResponseHeaders(200, body.length);
+            out.write(body);
+        } catch (IOException ignored) {
+            // the client gave up (read timeout)
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.EduPulse.ClassService.support;
+
+import com.EduPulse.ClassService.model.dto.GradeResponse;
+import com.EduPulse.ClassService.model.dto.UserResponse;
+import com.EduPulse.ClassService.service.UserServiceClient;
+import feign.FeignException;
+import feign.Request;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory stand-in for user-service that counts every call it receives.
+ * Every ID resolves to a predictable name ("Student 7", "Grade 3", ...), and an
+ * optional latency is added to each call to imitate a remote round-trip.
+ */
+public class StubUserServiceClient implements UserServiceClient {
+
+    private static final StubUserServiceClient SHARED = new StubUserServiceClient();
+
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private final Set<Long> omittedOnce = ConcurrentHashMap.newKeySet();
+    private final Set<Long> failedOnce = ConcurrentHashMap.newKeySet();
+    private volatile Duration latency = Duration.ZERO;
+
+    // Factory method for @TestBean(methodName = "...StubUserServiceClient#shared")
+    public static StubUserServiceClient shared() {
+        return SHARED;
+    }
+
+    public int calls(String method) {
+        AtomicInteger count = calls.get(method);
+        return count != null ? count.get() : 0;
+    }
+
+    public int totalCalls() {
+        return calls.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    // Leaves the student out of the next bulk reply only, as if user-service did not know them
+    public void omitStudentOnce(Long studentId) {
+        omittedOnce.add(studentId);
+    }
+
+    // Fails the next bulk call that asks for the student with a 503, like a chunk hitting an outage
+    public void failStudentOnce(Long studentId) {
+        failedOnce.add(studentId);
+    }
+
+    public void reset() {
+        calls.clear();
+        omittedOnce.clear();
+        failedOnce.clear();
+        latency = Duration.ZERO;
+    }
+
+    @Override
+    public GradeResponse validateGrade(Long gradeId) {
+        record("validateGrade");
+        return new GradeResponse(gradeId, "Grade " + gradeId, null);
+    }
+
+    @Override
+    public UserResponse validateLecturer(Long lecturerId) {
+        record("validateLecturer");
+        return user(lecturerId, "Lecturer " + lecturerId, "LECTURER");
+    }
+
+    @Override
+    public UserResponse validateStudent(Long studentId) {
+        record("validateStudent");
+        UserResponse student = user(studentId, "Student " + studentId, "STUDENT");
+        student.setGradeId(studentId / 100);  // students 4200..4299 are in grade 42
+        return student;
+    }
+
+    @Override
+    public List<UserResponse> getStudentsByIds(Collection<Long> studentIds) {
+        record("getStudentsByIds");
+        if (failedOnce.removeAll(studentIds)) {
+            Request request = Request.create(Request.HttpMethod.GET, "/api/users/students/batch",
+                    Map.of(), null, StandardCharsets.UTF_8, null);
+            throw new FeignException.ServiceUnavailable("user-service unavailable", request, null, null);
+        }
+        return studentIds.stream()
+                .filter(id -> !omittedOnce.remove(id))
+                .map(id -> user(id, "Student " + id, "STUDENT"))
+                .toList();
+    }
+
+    @Override
+    public UserResponse getUserByUsername(String username) {
+        record("getUserByUsername");
+        return user(1L, username, "STUDENT");
+    }
+
+    private void record(String method) {
+        calls.computeIfAbsent(method, m -> new AtomicInteger()).incrementAndGet();
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static UserResponse user(Long id, String fullName, String role) {
+        UserResponse user = new UserResponse();
+        user.setId(id);
+        user.setFullName(fullName);
+        user.setRole(role);
+        return user;
+    }
+}